@@ -0,0 +1,90 @@
+package com.example.GitHubRepoExplorer.benchmark;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Payloads shaped like real GitHub responses: repository objects carry the fields GitHub sends besides the
+ * four {@link RepositoryDTO} maps, every tenth repository is a fork and SHAs are 40 hex characters.
+ */
+final class BenchmarkData {
+    static final String OWNER = "octocat";
+    private static final int FORK_EVERY = 10;
+
+    private BenchmarkData() {
+    }
+
+    static boolean isFork(int repository) {
+        return repository % FORK_EVERY == FORK_EVERY - 1;
+    }
+
+    static String branchesUrl(int repository) {
+        return "https://api.github.com/repos/" + OWNER + "/repo-" + repository + "/branches{/branch}";
+    }
+
+    static List<RepositoryDTO> repositoryDTOs(int repositories) {
+        List<RepositoryDTO> dtos = new ArrayList<>(repositories);
+        for (int i = 0; i < repositories; i++) {
+            dtos.add(new RepositoryDTO("repo-" + i, Owner.of(OWNER), isFork(i), branchesUrl(i), "main"));
+        }
+        return dtos;
+    }
+
+    static List<Branch> branches(int repository, int branches) {
+        List<Branch> list = new ArrayList<>(branches);
+        for (int i = 0; i < branches; i++) {
+            list.add(new Branch(i == 0 ? "main" : "feature/branch-" + i, new Commit(sha(repository, i))));
+        }
+        return list;
+    }
+
+    static List<Repository> repositories(int repositories, int branches) {
+        List<Repository> list = new ArrayList<>(repositories);
+        for (int i = 0; i < repositories; i++) {
+            list.add(new Repository("repo-" + i, Owner.of(OWNER), branches(i, branches)));
+        }
+        return list;
+    }
+
+    static byte[] repositoriesJson(int repositories) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < repositories; i++) {
+            json.add("""
+                    {"id":%d,"node_id":"R_kgDOH%08d","name":"repo-%d","full_name":"%s/repo-%d","private":false,
+                    "owner":{"login":"%s","id":583231,"node_id":"MDQ6VXNlcjU4MzIzMQ==","avatar_url":"https://avatars.githubusercontent.com/u/583231?v=4",
+                    "gravatar_id":"","url":"https://api.github.com/users/%s","html_url":"https://github.com/%s","type":"User","site_admin":false},
+                    "html_url":"https://github.com/%s/repo-%d","description":"Repository number %d used for benchmarks","fork":%b,
+                    "url":"https://api.github.com/repos/%s/repo-%d","branches_url":"%s",
+                    "created_at":"2011-01-26T19:01:12Z","updated_at":"2024-06-01T10:00:00Z","pushed_at":"2024-06-01T10:00:00Z",
+                    "homepage":null,"size":108,"stargazers_count":42,"watchers_count":42,"language":"Java","has_issues":true,
+                    "forks_count":7,"archived":false,"disabled":false,"open_issues_count":1,
+                    "license":{"key":"mit","name":"MIT License","spdx_id":"MIT","url":"https://api.github.com/licenses/mit"},
+                    "topics":["spring","reactor","github"],"visibility":"public","default_branch":"main"}"""
+                    .formatted(i, i, i, OWNER, i, OWNER, OWNER, OWNER, OWNER, i, i, isFork(i), OWNER, i, branchesUrl(i)));
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] branchesJson(int repository, int branches) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < branches; i++) {
+            String sha = sha(repository, i);
+            json.add("""
+                    {"name":"%s","commit":{"sha":"%s","url":"https://api.github.com/repos/%s/repo-%d/commits/%s"},"protected":false}"""
+                    .formatted(i == 0 ? "main" : "feature/branch-" + i, sha, OWNER, repository, sha));
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha(int repository, int branch) {
+        return "%020x%020x".formatted(repository * 1_000_003L, branch * 7_919L + 1);
+    }
+}
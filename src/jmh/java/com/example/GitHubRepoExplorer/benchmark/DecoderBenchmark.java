@@ -0,0 +1,84 @@
+package com.example.GitHubRepoExplorer.benchmark;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.utils.GitHubJsonDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One upstream page as WebClient decodes it, split into 8 KB buffers like Netty delivers them: the default
+ * {@link Jackson2JsonDecoder} against the field-selective {@link GitHubJsonDecoder}. Run with {@code -prof gc}
+ * to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final ResolvableType REPOSITORY_TYPE = ResolvableType.forClass(RepositoryDTO.class);
+    private static final ResolvableType BRANCH_TYPE = ResolvableType.forClass(Branch.class);
+
+    @Param({"30", "100"})
+    private int perPage;
+
+    private Jackson2JsonDecoder jacksonDecoder;
+    private GitHubJsonDecoder streamingDecoder;
+    private List<byte[]> repositoriesChunks;
+    private List<byte[]> branchesChunks;
+
+    @Setup
+    public void setUp() {
+        jacksonDecoder = new Jackson2JsonDecoder(Jackson2ObjectMapperBuilder.json().build());
+        jacksonDecoder.setMaxInMemorySize(2 * 1024 * 1024);
+        streamingDecoder = new GitHubJsonDecoder(2 * 1024 * 1024);
+        repositoriesChunks = chunks(BenchmarkData.repositoriesJson(perPage));
+        branchesChunks = chunks(BenchmarkData.branchesJson(0, perPage));
+    }
+
+    @Benchmark
+    public List<Object> jacksonRepositories() {
+        return jacksonDecoder.decode(buffers(repositoriesChunks), REPOSITORY_TYPE, MediaType.APPLICATION_JSON, null).collectList().block();
+    }
+
+    @Benchmark
+    public List<Object> streamingRepositories() {
+        return streamingDecoder.decode(buffers(repositoriesChunks), REPOSITORY_TYPE, MediaType.APPLICATION_JSON, null).collectList().block();
+    }
+
+    @Benchmark
+    public List<Object> jacksonBranches() {
+        return jacksonDecoder.decode(buffers(branchesChunks), BRANCH_TYPE, MediaType.APPLICATION_JSON, null).collectList().block();
+    }
+
+    @Benchmark
+    public List<Object> streamingBranches() {
+        return streamingDecoder.decode(buffers(branchesChunks), BRANCH_TYPE, MediaType.APPLICATION_JSON, null).collectList().block();
+    }
+
+    private static Flux<DataBuffer> buffers(List<byte[]> chunks) {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private static List<byte[]> chunks(byte[] json) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int offset = 0; offset < json.length; offset += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(json, offset, Math.min(json.length, offset + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
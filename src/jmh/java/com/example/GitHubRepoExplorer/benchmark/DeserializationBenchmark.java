@@ -0,0 +1,54 @@
+package com.example.GitHubRepoExplorer.benchmark;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson decoding of the two upstream payloads into the DTOs the client asks for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+    @Param({"1", "100", "1000"})
+    private int repositories;
+
+    @Param({"1", "50", "500"})
+    private int branches;
+
+    private ObjectMapper objectMapper;
+    private JavaType repositoryListType;
+    private JavaType branchListType;
+    private byte[] repositoriesJson;
+    private byte[] branchesJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        repositoryListType = objectMapper.getTypeFactory().constructCollectionType(List.class, RepositoryDTO.class);
+        branchListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Branch.class);
+        repositoriesJson = BenchmarkData.repositoriesJson(repositories);
+        branchesJson = BenchmarkData.branchesJson(0, branches);
+    }
+
+    @Benchmark
+    public List<RepositoryDTO> repositories() throws IOException {
+        return objectMapper.readValue(repositoriesJson, repositoryListType);
+    }
+
+    @Benchmark
+    public List<Branch> branches() throws IOException {
+        return objectMapper.readValue(branchesJson, branchListType);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.GitHubRepoExplorer.benchmark;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.HotUsernames;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fork filter and repository mapping of {@link RestRepositoryFetchStrategy} behind {@link GitHubService},
+ * with upstream responses answered from memory so only the pipeline itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+    @Param({"1", "100", "1000"})
+    private int repositories;
+
+    @Param({"1", "50", "500"})
+    private int branches;
+
+    private GitHubService gitHubService;
+
+    @Setup
+    public void setUp() {
+        List<RepositoryDTO> repositoryDTOs = BenchmarkData.repositoryDTOs(repositories);
+        Map<String, List<Branch>> branchesByUrl = new HashMap<>();
+        for (int i = 0; i < repositories; i++) {
+            branchesByUrl.put(BenchmarkData.branchesUrl(i).replace("{/branch}", ""), BenchmarkData.branches(i, branches));
+        }
+        GitHubApiClient client = new InMemoryGitHubApiClient(repositoryDTOs, branchesByUrl);
+        gitHubService = new GitHubService(new RestRepositoryFetchStrategy(client, 8), 1, new GitHubMetrics(new SimpleMeterRegistry()), new HotUsernames(true, 100));
+    }
+
+    @Benchmark
+    public List<Repository> nonForkedRepositories() {
+        return gitHubService.getNonForkedRepositoriesByUsername(BenchmarkData.OWNER, 100, 1);
+    }
+
+    private static class InMemoryGitHubApiClient extends GitHubApiClient {
+        private final Mono<List<RepositoryDTO>> repositories;
+        private final Map<String, List<Branch>> branchesByUrl;
+
+        InMemoryGitHubApiClient(List<RepositoryDTO> repositories, Map<String, List<Branch>> branchesByUrl) {
+            super(WebClient.create(), new GitHubResponseCache(false, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry())),
+                    new SharedCacheLoader(false, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, null, null), 1, 1);
+            this.repositories = Mono.just(repositories);
+            this.branchesByUrl = branchesByUrl;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<List<T>> makeApiRequestAsync(String url, Class<T> responseType, int perPage, int page) {
+            return (Mono<List<T>>) (Mono<?>) repositories;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<List<T>> fetchAllAsync(String url, Class<T> responseType) {
+            return Mono.just((List<T>) branchesByUrl.get(url));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.GitHubRepoExplorer.benchmark;
+
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of the response body, as a JSON array and as NDJSON lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"1", "100", "1000"})
+    private int repositories;
+
+    @Param({"1", "50", "500"})
+    private int branches;
+
+    private ObjectMapper objectMapper;
+    private List<Repository> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = BenchmarkData.repositories(repositories, branches);
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int ndjson() throws JsonProcessingException {
+        int bytes = 0;
+        for (Repository repository : response) {
+            bytes += objectMapper.writeValueAsBytes(repository).length + 1;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Approximate frequency counter with four rows of counters. Estimates never undercount, and all counters are
+ * halved once {@code 10 * expectedItems} increments were made, so the sketch follows recent popularity rather than
+ * totals since startup.
+ * <p>
+ * Counters are updated atomically without a lock. Only the halving is serialized, and a thread that finds it
+ * already running carries on instead of waiting. Increments that race with a halving may be halved or not, which
+ * the sketch tolerates like any other approximation.
+ */
+public class CountMinSketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final AtomicIntegerArray counters;
+    private final int width;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final ReentrantLock agingLock = new ReentrantLock();
+
+    public CountMinSketch(int expectedItems) {
+        this.width = Integer.highestOneBit(Math.max(64, expectedItems * 8) - 1) << 1;
+        this.counters = new AtomicIntegerArray(SEEDS.length * width);
+        this.mask = width - 1;
+        this.sampleSize = Math.max(10, expectedItems * 10);
+    }
+
+    public int increment(Object item) {
+        int hash = spread(item.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        if (additions.incrementAndGet() >= sampleSize && agingLock.tryLock()) {
+            try {
+                if (additions.get() >= sampleSize) {
+                    age();
+                }
+            } finally {
+                agingLock.unlock();
+            }
+        }
+        return estimate;
+    }
+
+    public int estimate(Object item) {
+        int hash = spread(item.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    private void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, count -> count >>> 1);
+        }
+        additions.updateAndGet(count -> count / 2);
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * width + ((int) h & mask);
+    }
+
+    private int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
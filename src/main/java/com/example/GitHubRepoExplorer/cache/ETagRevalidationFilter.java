@@ -0,0 +1,115 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Sends {@code If-None-Match} for URLs with a stored ETag and turns a {@code 304 Not Modified} answer into
+ * a {@code 200} carrying the stored body. Not modified responses do not count against the GitHub rate limit.
+ * <p>
+ * A {@code 200} body streams through to the decoder while a copy is taken for the store, so decoding starts with
+ * the first buffer instead of after the whole payload was aggregated. Stores that block on I/O are called on the
+ * bounded elastic scheduler, never on the event loop running the exchange.
+ */
+@Component
+public class ETagRevalidationFilter implements ExchangeFilterFunction {
+    private final ResponseStore responseStore;
+    private final Scheduler storeScheduler;
+
+    public ETagRevalidationFilter(ResponseStore responseStore) {
+        this.responseStore = responseStore;
+        this.storeScheduler = responseStore.isBlocking() ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        String url = request.url().toString();
+        return Mono.fromCallable(() -> responseStore.get(url))
+                .subscribeOn(storeScheduler)
+                .flatMap(stored -> exchange(request, next, url, stored));
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, String url, Optional<StoredResponse> stored) {
+        ClientRequest conditionalRequest = stored
+                .map(response -> ClientRequest.from(request)
+                        .headers(headers -> headers.setIfNoneMatch(response.etag()))
+                        .build())
+                .orElse(request);
+
+        return next.exchange(conditionalRequest)
+                .flatMap(response -> {
+                    if (response.statusCode() == HttpStatus.NOT_MODIFIED && stored.isPresent()) {
+                        return response.releaseBody().thenReturn(withStoredBody(response, stored.get()));
+                    }
+                    String etag = response.headers().asHttpHeaders().getETag();
+                    if (response.statusCode() == HttpStatus.OK && etag != null) {
+                        return store(url, etag, response);
+                    }
+                    return Mono.just(response);
+                });
+    }
+
+    /**
+     * Passes the body on to the decoder as it arrives and keeps a copy, which is stored once the body is complete.
+     * A body that is not read to the end, because decoding failed or the request was cancelled, is not stored.
+     */
+    private Mono<ClientResponse> store(String url, String etag, ClientResponse response) {
+        String contentType = response.headers().contentType()
+                .orElse(MediaType.APPLICATION_JSON)
+                .toString();
+        return Mono.just(response.mutate()
+                .body(body -> {
+                    ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                    return body.doOnNext(buffer -> copy(buffer, copy))
+                            .concatWith(Mono.<DataBuffer>fromRunnable(() -> responseStore.put(url,
+                                            new StoredResponse(etag, contentType, copy.toByteArray())))
+                                    .subscribeOn(storeScheduler));
+                })
+                .build());
+    }
+
+    private void copy(DataBuffer buffer, ByteArrayOutputStream copy) {
+        // Readable byte buffers are views, reading them leaves the data buffer untouched for the decoder
+        try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+            while (byteBuffers.hasNext()) {
+                ByteBuffer byteBuffer = byteBuffers.next();
+                byte[] chunk = new byte[byteBuffer.remaining()];
+                byteBuffer.get(chunk);
+                copy.writeBytes(chunk);
+            }
+        }
+    }
+
+    private ClientResponse withStoredBody(ClientResponse response, StoredResponse stored) {
+        // The original body has been released, so a new response is built around the stored bytes
+        return ClientResponse.create(HttpStatus.OK, response.strategies())
+                .request(response.request())
+                .headers(headers -> {
+                    headers.addAll(response.headers().asHttpHeaders());
+                    headers.set(HttpHeaders.CONTENT_TYPE, stored.contentType());
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                })
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(stored.body()))))
+                .build();
+    }
+}
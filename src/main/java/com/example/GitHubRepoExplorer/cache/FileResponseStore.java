@@ -0,0 +1,334 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of stored responses, so ETags and bodies survive restarts. Each record is
+ * {@code [length][crc32][url][etag][content type][body]}; only the URL index is kept in memory and bodies are
+ * read back on access. The index is built on first use, a torn record at the end of the log is truncated.
+ * Entries are never trusted blindly: the ETag filter still revalidates them with {@code If-None-Match}.
+ * <p>
+ * Live records are capped at {@code github.etag.maximum-size}, oldest first. Once superseded records outweigh
+ * live ones the log is rewritten, which keeps the file below twice the cap.
+ * <p>
+ * Access is serialized with a {@link ReentrantLock} rather than {@code synchronized}, so virtual threads waiting
+ * on file I/O of another request unmount instead of pinning their carrier.
+ */
+@Component
+@ConditionalOnProperty(name = "github.etag.store", havingValue = "file")
+public class FileResponseStore implements ResponseStore, MeterBinder, AutoCloseable {
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final String COMPACTION_SUFFIX = ".compact";
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private final Path path;
+    private final long maximumSize;
+    private final Map<String, Location> index = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long liveBytes;
+    private Duration loadTime = Duration.ZERO;
+
+    public FileResponseStore(@Value("${github.etag.file}") Path path,
+                             @Value("${github.etag.maximum-size}") DataSize maximumSize) {
+        this.path = path;
+        this.maximumSize = maximumSize.toBytes();
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String url) {
+        lock.lock();
+        try {
+            open();
+            Location location = index.get(url);
+            if (location == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(read(location));
+            } catch (IOException e) {
+                // A corrupt record is dropped, the next fetch is a plain unconditional request
+                remove(url);
+                return Optional.empty();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String url, StoredResponse response) {
+        lock.lock();
+        try {
+            open();
+            byte[] record = encode(url, response);
+            if (record == null || record.length > maximumSize) {
+                return;
+            }
+            try {
+                long offset = channel.size();
+                channel.write(ByteBuffer.wrap(record), offset);
+                remove(url);
+                index.put(url, new Location(offset, record.length));
+                liveBytes += record.length;
+                evictOverflow();
+                if (channel.size() - liveBytes > Math.max(liveBytes, maximumSize / 2)) {
+                    compact();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
+    public int entries() {
+        lock.lock();
+        try {
+            open();
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long diskSize() {
+        lock.lock();
+        try {
+            open();
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Time spent building the index from the log on first access, the restart-to-warm cost of the store.
+     */
+    public Duration loadTime() {
+        lock.lock();
+        try {
+            return loadTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.response.store.entries", this, FileResponseStore::entries)
+                .description("Responses kept in the on-disk store")
+                .register(registry);
+        Gauge.builder("github.response.store.size", this, FileResponseStore::diskSize)
+                .description("Size of the on-disk response log")
+                .baseUnit("bytes")
+                .register(registry);
+        TimeGauge.builder("github.response.store.load", this, TimeUnit.MILLISECONDS, store -> store.loadTime().toMillis())
+                .description("Time taken to index the on-disk response log at startup")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        if (channel != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        loadTime = Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void loadIndex() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        while (offset + HEADER_BYTES + Short.BYTES <= size) {
+            ByteBuffer header = readFully(offset, HEADER_BYTES + Short.BYTES);
+            int length = header.getInt();
+            header.getInt();
+            int urlLength = Short.toUnsignedInt(header.getShort());
+            if (length < HEADER_BYTES + Short.BYTES + urlLength || offset + length > size) {
+                break;
+            }
+            String url = StandardCharsets.UTF_8.decode(readFully(offset + HEADER_BYTES + Short.BYTES, urlLength)).toString();
+            remove(url);
+            index.put(url, new Location(offset, length));
+            liveBytes += length;
+            offset += length;
+        }
+        // Whatever follows the last complete record is a write interrupted by a crash
+        channel.truncate(offset);
+        evictOverflow();
+    }
+
+    private StoredResponse read(Location location) throws IOException {
+        ByteBuffer record = readFully(location.offset(), location.length());
+        record.getInt();
+        int crc = record.getInt();
+        CRC32 checksum = new CRC32();
+        checksum.update(record.duplicate());
+        if ((int) checksum.getValue() != crc) {
+            throw new IOException("Corrupt record at offset " + location.offset());
+        }
+        readString(record);
+        String etag = readString(record);
+        String contentType = readString(record);
+        byte[] body = new byte[record.getInt()];
+        record.get(body);
+        return new StoredResponse(etag, contentType, body);
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns {@code null} when a string does not fit its unsigned 16 bit length prefix, such a response is not stored.
+     */
+    private byte[] encode(String url, StoredResponse response) {
+        byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+        byte[] etagBytes = response.etag().getBytes(StandardCharsets.UTF_8);
+        byte[] contentTypeBytes = response.contentType().getBytes(StandardCharsets.UTF_8);
+        if (urlBytes.length > MAX_STRING_BYTES || etagBytes.length > MAX_STRING_BYTES
+                || contentTypeBytes.length > MAX_STRING_BYTES) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(response.body().length + urlBytes.length + 128);
+            DataOutputStream output = new DataOutputStream(payload);
+            writeString(output, urlBytes);
+            writeString(output, etagBytes);
+            writeString(output, contentTypeBytes);
+            output.writeInt(response.body().length);
+            output.write(response.body());
+            byte[] bytes = payload.toByteArray();
+
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes);
+            return ByteBuffer.allocate(HEADER_BYTES + bytes.length)
+                    .putInt(HEADER_BYTES + bytes.length)
+                    .putInt((int) checksum.getValue())
+                    .put(bytes)
+                    .array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeString(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private void remove(String url) {
+        Location previous = index.remove(url);
+        if (previous != null) {
+            liveBytes -= previous.length();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Location> oldest = index.values().iterator();
+        while (liveBytes > maximumSize && oldest.hasNext()) {
+            liveBytes -= oldest.next().length();
+            oldest.remove();
+        }
+    }
+
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + COMPACTION_SUFFIX);
+        Map<String, Location> relocated = new LinkedHashMap<>();
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long offset = 0;
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                long copied = 0;
+                while (copied < location.length()) {
+                    copied += channel.transferTo(location.offset() + copied, location.length() - copied, target);
+                }
+                relocated.put(entry.getKey(), new Location(offset, location.length()));
+                offset += location.length();
+            }
+            target.force(true);
+        }
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        index.putAll(relocated);
+    }
+
+    private record Location(long offset, int length) {
+    }
+}
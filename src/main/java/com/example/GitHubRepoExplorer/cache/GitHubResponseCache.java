@@ -0,0 +1,233 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics.CacheOutcome;
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded cache of GitHub API responses keyed by {@link RequestKey}. Repository and branch lists
+ * expire after separate TTLs, eviction is W-TinyLFU weighted by the number of cached items, and concurrent
+ * misses for the same key share a single upstream call. Concurrent calls are shared even when caching is disabled.
+ * Every lookup is timed with its cache outcome, and the loader runs in the context of the subscriber that
+ * triggered it, so its upstream calls are attributed to that request.
+ * <p>
+ * With {@code github.cache.stale-if-error} set, the last good value of every key is kept that long and served
+ * when GitHub is unavailable or the rate limit is spent, instead of failing the request.
+ * <p>
+ * Subscribers that put a {@link Duration} under {@link #REFRESH_AHEAD_CONTEXT_KEY} reload entries that expire
+ * within that time and replace them once the new value arrives, so readers keep being served the old one.
+ */
+@Component
+public class GitHubResponseCache {
+    public static final String REFRESH_AHEAD_CONTEXT_KEY = GitHubResponseCache.class.getName() + ".refreshAhead";
+
+    private final boolean enabled;
+    private final Duration repositoriesTtl;
+    private final Duration branchesTtl;
+    private final AsyncCache<RequestKey, List<?>> cache;
+    private final Cache<RequestKey, List<?>> stale;
+    private final Map<RequestKey, CompletableFuture<List<?>>> inFlight = new ConcurrentHashMap<>();
+    private final GitHubMetrics metrics;
+
+    public GitHubResponseCache(@Value("${github.cache.enabled}") boolean enabled,
+                               @Value("${github.cache.maximum-weight}") long maximumWeight,
+                               @Value("${github.cache.repositories-ttl}") Duration repositoriesTtl,
+                               @Value("${github.cache.branches-ttl}") Duration branchesTtl,
+                               @Value("${github.cache.stale-if-error}") Duration staleIfError,
+                               GitHubMetrics metrics) {
+        this.enabled = enabled;
+        this.metrics = metrics;
+        this.repositoriesTtl = repositoriesTtl;
+        this.branchesTtl = branchesTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((RequestKey key, List<?> value) -> Math.max(1, value.size()))
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .buildAsync();
+        this.stale = staleIfError.isZero() ? null : Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((RequestKey key, List<?> value) -> Math.max(1, value.size()))
+                .expireAfterWrite(staleIfError)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<List<T>> get(RequestKey key, Supplier<Mono<List<T>>> loader) {
+        return Mono.deferContextual(context -> {
+            Timer.Sample sample = metrics.startTimer();
+            AtomicBoolean loaded = new AtomicBoolean();
+            AtomicBoolean completed = new AtomicBoolean();
+            AtomicBoolean fallback = new AtomicBoolean();
+            Supplier<CompletableFuture<? extends List<?>>> load = () -> {
+                loaded.set(true);
+                Mono<List<T>> value = loader.get().contextWrite(context);
+                return (stale == null ? value : value.doOnNext(fresh -> stale.put(key, fresh))).toFuture();
+            };
+            Optional<Duration> refreshAhead = context.getOrEmpty(REFRESH_AHEAD_CONTEXT_KEY);
+            if (enabled && refreshAhead.isPresent() && expiresWithin(key, refreshAhead.get())) {
+                return Mono.fromFuture(() -> join(key, load), true)
+                        .doOnNext(value -> cache.put(key, CompletableFuture.completedFuture(value)))
+                        .doOnSuccess(value -> record(sample, key, CacheOutcome.REFRESH, true))
+                        .doOnError(error -> record(sample, key, CacheOutcome.REFRESH, false))
+                        .map(value -> (List<T>) value);
+            }
+            // Cancellation is suppressed because the future may be shared by other subscribers of the same key
+            return Mono.fromFuture(() -> {
+                        CompletableFuture<List<?>> value = enabled ? cache.get(key, (k, executor) -> load.get()) : join(key, load);
+                        completed.set(value.isDone());
+                        return value;
+                    }, true)
+                    .onErrorResume(this::isUpstreamUnavailable, error -> Mono.justOrEmpty(staleValue(key))
+                            .doOnNext(value -> fallback.set(true))
+                            .switchIfEmpty(Mono.error(error)))
+                    .doOnSuccess(value -> record(sample, key,
+                            fallback.get() ? CacheOutcome.STALE : outcome(loaded.get(), completed.get()), true))
+                    .doOnError(error -> record(sample, key, outcome(loaded.get(), completed.get()), false))
+                    .map(value -> (List<T>) value);
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+        if (stale != null) {
+            stale.invalidateAll();
+        }
+    }
+
+    /**
+     * Drops every entry whose key matches, for example after a webhook reported a change. Returns the number
+     * of entries removed.
+     */
+    public int invalidate(Predicate<RequestKey> keys) {
+        int invalidated = 0;
+        for (RequestKey key : cache.asMap().keySet()) {
+            if (keys.test(key) && cache.asMap().remove(key) != null) {
+                invalidated++;
+            }
+        }
+        if (stale != null) {
+            stale.asMap().keySet().removeIf(keys);
+        }
+        return invalidated;
+    }
+
+    /**
+     * Replaces the value of every loaded entry whose key matches with {@code update} applied to it. Entries still
+     * loading, and entries for which {@code update} returns {@code null}, are dropped instead. Returns the number
+     * of entries touched.
+     */
+    public int patch(Predicate<RequestKey> keys, UnaryOperator<List<?>> update) {
+        int patched = 0;
+        for (RequestKey key : cache.asMap().keySet()) {
+            if (!keys.test(key)) {
+                continue;
+            }
+            patched++;
+            cache.asMap().computeIfPresent(key, (k, value) -> {
+                List<?> current = value.isDone() && !value.isCompletedExceptionally() ? value.join() : null;
+                List<?> updated = current == null ? null : update.apply(current);
+                return updated == null ? null : CompletableFuture.completedFuture(updated);
+            });
+        }
+        if (stale != null) {
+            stale.asMap().keySet().removeIf(keys);
+        }
+        return patched;
+    }
+
+    private boolean expiresWithin(RequestKey key, Duration refreshAhead) {
+        return cache.synchronous().policy().expireVariably()
+                .flatMap(policy -> policy.getExpiresAfter(key))
+                .map(expiresAfter -> expiresAfter.compareTo(refreshAhead) <= 0)
+                .orElse(false);
+    }
+
+    private boolean isUpstreamUnavailable(Throwable error) {
+        return error instanceof UpstreamUnavailableException || error instanceof RateLimitExceededException;
+    }
+
+    private List<?> staleValue(RequestKey key) {
+        return stale == null ? null : stale.getIfPresent(key);
+    }
+
+    private CompletableFuture<List<?>> join(RequestKey key, Supplier<CompletableFuture<? extends List<?>>> loader) {
+        CompletableFuture<List<?>> call = new CompletableFuture<>();
+        CompletableFuture<List<?>> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            return running;
+        }
+        loader.get().whenComplete((value, error) -> {
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                call.complete(value);
+            }
+        });
+        return call;
+    }
+
+    private CacheOutcome outcome(boolean loaded, boolean completed) {
+        if (loaded) {
+            return enabled ? CacheOutcome.MISS : CacheOutcome.BYPASS;
+        }
+        return completed ? CacheOutcome.HIT : CacheOutcome.SHARED;
+    }
+
+    private void record(Timer.Sample sample, RequestKey key, CacheOutcome outcome, boolean success) {
+        metrics.recordLookup(sample, key.endpointType(), outcome, success);
+    }
+
+    private Duration ttl(EndpointType endpointType) {
+        // GraphQL results embed branch heads, so they age like branch lists
+        return endpointType == EndpointType.REPOSITORIES ? repositoriesTtl : branchesTtl;
+    }
+
+    private class TtlExpiry implements Expiry<RequestKey, List<?>> {
+        @Override
+        public long expireAfterCreate(RequestKey key, List<?> value, long currentTime) {
+            return ttl(key.endpointType()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(RequestKey key, List<?> value, long currentTime, long currentDuration) {
+            return ttl(key.endpointType()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(RequestKey key, List<?> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "github.etag.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryResponseStore implements ResponseStore {
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryResponseStore(@Value("${github.etag.maximum-size}") DataSize maximumSize) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String url, StoredResponse response) -> url.length() + response.body().length)
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String url) {
+        return Optional.ofNullable(responses.getIfPresent(url));
+    }
+
+    @Override
+    public void put(String url, StoredResponse response) {
+        responses.put(url, response);
+    }
+}
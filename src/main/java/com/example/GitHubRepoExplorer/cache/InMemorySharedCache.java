@@ -0,0 +1,89 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link SharedCache} kept in the memory of this process. It is only shared between application instances running
+ * in the same JVM, which makes it the implementation for a single node and for tests of the shared tier.
+ */
+@Component
+@ConditionalOnProperty(name = "github.shared-cache.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySharedCache implements SharedCache {
+    private final Cache<String, Entry> values;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    public InMemorySharedCache(@Value("${github.shared-cache.maximum-size}") DataSize maximumSize) {
+        this.values = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, Entry value) -> key.length() + value.bytes().length)
+                .expireAfter(new ValueExpiry())
+                .build();
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        return Optional.ofNullable(values.getIfPresent(key)).map(Entry::bytes);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.put(key, new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void invalidate(String keyPrefix) {
+        values.asMap().keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    @Override
+    public boolean tryLease(String key, String owner, Duration leaseTime) {
+        long now = System.nanoTime();
+        Lease lease = new Lease(owner, now + leaseTime.toNanos());
+        return leases.compute(key, (k, current) ->
+                current == null || current.owner().equals(owner) || current.expiresAt() - now <= 0 ? lease : current) == lease;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        leases.computeIfPresent(key, (k, current) -> current.owner().equals(owner) ? null : current);
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    private record Entry(byte[] bytes, long ttlNanos) {
+    }
+
+    private record Lease(String owner, long expiresAt) {
+    }
+
+    private static class ValueExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
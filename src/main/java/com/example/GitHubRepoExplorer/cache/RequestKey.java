@@ -0,0 +1,20 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+
+public record RequestKey(String url, int perPage, int page) {
+    private static final int NOT_PAGINATED = 0;
+    private static final int ALL_PAGES = -1;
+
+    public RequestKey(String url) {
+        this(url, NOT_PAGINATED, NOT_PAGINATED);
+    }
+
+    public static RequestKey allPages(String url) {
+        return new RequestKey(url, ALL_PAGES, ALL_PAGES);
+    }
+
+    public EndpointType endpointType() {
+        return EndpointType.fromUrl(url);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import java.util.Optional;
+
+/**
+ * Keeps the last successful response body per URL together with its ETag, so it can be revalidated
+ * with {@code If-None-Match} and served again when GitHub answers {@code 304 Not Modified}.
+ */
+public interface ResponseStore {
+    Optional<StoredResponse> get(String url);
+
+    void put(String url, StoredResponse response);
+
+    /**
+     * Whether calls may block on I/O, in which case they are moved off the calling thread, typically an event loop.
+     */
+    default boolean isBlocking() {
+        return false;
+    }
+}
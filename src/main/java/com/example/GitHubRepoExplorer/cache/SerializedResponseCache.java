@@ -0,0 +1,172 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Final JSON bytes of {@code /api/repos/{username}} responses, gzip-compressed once when that pays off, with a
+ * strong ETag per representation. An entry is reused only while the response it was serialized from is still
+ * equal to the current one. That check is cheap, because unchanged responses share their branch lists with
+ * {@link GitHubResponseCache} and list equality starts with an identity check, so a cache hit skips Jackson
+ * entirely. Conditional requests are answered with {@code 304 Not Modified} by Spring from the ETag of the
+ * returned {@link ResponseEntity}.
+ */
+@Component
+public class SerializedResponseCache {
+    private static final String GZIP = "gzip";
+    private static final String ANY_CODING = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final int ETAG_BYTES = 16;
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    private final boolean enabled;
+    private final boolean gzip;
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, Entry> responses;
+
+    public SerializedResponseCache(@Value("${github.response-cache.enabled}") boolean enabled,
+                                   @Value("${github.response-cache.maximum-size}") DataSize maximumSize,
+                                   @Value("${github.response-cache.ttl}") Duration ttl,
+                                   @Value("${github.response-cache.gzip}") boolean gzip,
+                                   ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Object key, Entry entry) -> entry.response().weight())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the serialized form of {@code value}, the response for {@code key}, from the cache when the cached
+     * entry was serialized from an equal value.
+     */
+    public SerializedResponse serialize(Object key, Object value) {
+        if (!enabled) {
+            return serialize(value);
+        }
+        Entry cached = responses.getIfPresent(key);
+        if (cached != null && cached.value().equals(value)) {
+            return cached.response();
+        }
+        SerializedResponse response = serialize(value);
+        responses.put(key, new Entry(value, response));
+        return response;
+    }
+
+    public long estimatedSize() {
+        return responses.estimatedSize();
+    }
+
+    private SerializedResponse serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] compressed = gzip && body.length >= MIN_GZIP_SIZE ? compress(body) : null;
+            return new SerializedResponse(body, compressed != null && compressed.length < body.length ? compressed : null, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] compress(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Reads {@code Accept-Encoding} the way RFC 9110 defines it: gzip is accepted when it is listed, or covered by
+     * {@code *}, with a quality above zero. An explicit {@code gzip} entry takes precedence over {@code *}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals(GZIP)) {
+                gzipQuality = quality(parts);
+            } else if (coding.equals(ANY_CODING)) {
+                anyQuality = quality(parts);
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    return Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+                } catch (NumberFormatException e) {
+                    // A malformed weight is ignored like a missing one
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, ETAG_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Object value, SerializedResponse response) {
+    }
+
+    public record SerializedResponse(byte[] body, byte[] gzipped, String etag) {
+        int weight() {
+            return body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+
+        /**
+         * The gzip representation is sent when the client accepts it; each representation has its own strong ETag.
+         */
+        public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+            boolean compressed = gzipped != null && acceptsGzip(acceptEncoding);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .eTag(compressed ? etag + GZIP_ETAG_SUFFIX : etag);
+            if (compressed) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+            return builder.body(compressed ? gzipped : body);
+        }
+    }
+}
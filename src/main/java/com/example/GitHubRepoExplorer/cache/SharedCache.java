@@ -0,0 +1,41 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache tier shared by every replica of the service, holding serialized GitHub responses. Besides values it
+ * hands out leases, so that only one replica at a time loads a missing key while the others wait for its value.
+ * A lease expires on its own, which keeps a crashed holder from blocking the key. The operations map directly
+ * onto a key-value store such as Redis ({@code SET NX PX} for a lease, a compare-and-delete script to release it).
+ */
+public interface SharedCache {
+    Optional<byte[]> get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Drops every value whose key starts with {@code keyPrefix}, on Redis a {@code SCAN MATCH} over the prefix
+     * followed by {@code UNLINK}.
+     */
+    void invalidate(String keyPrefix);
+
+    /**
+     * Takes the lease on {@code key} for {@code owner} unless another owner holds a lease that has not expired yet.
+     */
+    boolean tryLease(String key, String owner, Duration leaseTime);
+
+    /**
+     * Gives the lease back, if {@code owner} still holds it.
+     */
+    void release(String key, String owner);
+
+    /**
+     * Same contract as {@link ResponseStore#isBlocking()}, read once by {@link SharedCacheLoader} to pick the
+     * scheduler for every call. Unlike a local store, a cache shared between replicas is almost always reached over
+     * the network, so implementations have to opt out rather than in.
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+}
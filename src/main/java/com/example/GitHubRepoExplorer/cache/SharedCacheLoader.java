@@ -0,0 +1,197 @@
+package com.example.GitHubRepoExplorer.cache;
+
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Puts the {@link SharedCache} between {@link GitHubResponseCache} misses and GitHub, so replicas coalesce on
+ * the same key the way concurrent requests within one replica already do. A miss first looks for a value written
+ * by any replica. Only the replica that gets the lease calls GitHub and publishes the result, the others poll
+ * until the value shows up or the lease is released or expires, and then try again. A replica that has polled for
+ * a whole {@code lease-time} stops waiting and loads the key itself. Values live as long as in
+ * {@link GitHubResponseCache}, {@code github.cache.repositories-ttl} or {@code github.cache.branches-ttl} depending
+ * on the {@link EndpointType}, so upstream calls for a key stay at one per TTL however many replicas are running.
+ * <p>
+ * Values are stored as JSON. One that no longer deserializes, for example after a release changed a type, counts
+ * as a miss, and a value that cannot be written is still returned to the caller. Calls to a blocking
+ * {@link SharedCache} run on {@link Schedulers#boundedElastic()}, never on the event loop that subscribed.
+ * <p>
+ * Refresh ahead reloads skip the shared read, and webhook deliveries drop the shared values they make stale
+ * through {@link #invalidate} and {@link #invalidateAll}.
+ */
+@Component
+public class SharedCacheLoader {
+    private static final Logger log = LoggerFactory.getLogger(SharedCacheLoader.class);
+    private static final String KEY_PREFIX = "github:";
+    private static final String KEY_SEPARATOR = "|";
+    private static final String KEY_FORMAT = KEY_PREFIX + "%s" + KEY_SEPARATOR + "%d" + KEY_SEPARATOR + "%d";
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final String BRANCHES_SEGMENT = "/branches/";
+
+    private final boolean enabled;
+    private final Duration repositoriesTtl;
+    private final Duration branchesTtl;
+    private final Duration leaseTime;
+    private final Duration pollInterval;
+    private final long maxPolls;
+    private final SharedCache sharedCache;
+    private final ObjectMapper objectMapper;
+    private final String owner = UUID.randomUUID().toString();
+    private final Scheduler scheduler;
+
+    public SharedCacheLoader(@Value("${github.shared-cache.enabled}") boolean enabled,
+                             @Value("${github.cache.repositories-ttl}") Duration repositoriesTtl,
+                             @Value("${github.cache.branches-ttl}") Duration branchesTtl,
+                             @Value("${github.shared-cache.lease-time}") Duration leaseTime,
+                             @Value("${github.shared-cache.poll-interval}") Duration pollInterval,
+                             SharedCache sharedCache, ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.repositoriesTtl = repositoriesTtl;
+        this.branchesTtl = branchesTtl;
+        this.leaseTime = leaseTime;
+        this.pollInterval = pollInterval;
+        this.maxPolls = pollInterval.isZero() ? 0 : Math.max(1, leaseTime.dividedBy(pollInterval));
+        this.sharedCache = sharedCache;
+        this.objectMapper = objectMapper;
+        this.scheduler = sharedCache != null && sharedCache.isBlocking() ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    public <T> Mono<List<T>> load(RequestKey key, Class<T> elementType, Supplier<Mono<List<T>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String sharedKey = String.format(KEY_FORMAT, path(key.url()), key.perPage(), key.page());
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        Duration ttl = ttl(key.endpointType());
+        // A refresh ahead reloads an entry because it is about to expire, the shared copy is at least as old
+        return Mono.deferContextual(context -> context.hasKey(GitHubResponseCache.REFRESH_AHEAD_CONTEXT_KEY)
+                ? lease(sharedKey, type, ttl, loader, true, 0)
+                : attempt(sharedKey, type, ttl, loader, 0));
+    }
+
+    /**
+     * Drops the shared values of every page of {@code url}.
+     */
+    public Mono<Void> invalidate(String url) {
+        return invalidatePrefix(KEY_PREFIX + path(url) + KEY_SEPARATOR);
+    }
+
+    /**
+     * Drops the shared values of every URL that starts with {@code url}.
+     */
+    public Mono<Void> invalidateAll(String url) {
+        return invalidatePrefix(KEY_PREFIX + path(url));
+    }
+
+    private Mono<Void> invalidatePrefix(String keyPrefix) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> sharedCache.invalidate(keyPrefix))
+                .subscribeOn(scheduler)
+                .onErrorResume(error -> {
+                    log.warn("Could not invalidate {} in the shared cache", keyPrefix, error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <T> Mono<List<T>> attempt(String key, JavaType type, Duration ttl, Supplier<Mono<List<T>>> loader,
+                                      long polls) {
+        return this.<T>read(key, type)
+                .switchIfEmpty(Mono.defer(() -> lease(key, type, ttl, loader, false, polls)));
+    }
+
+    private <T> Mono<List<T>> lease(String key, JavaType type, Duration ttl, Supplier<Mono<List<T>>> loader,
+                                    boolean refresh, long polls) {
+        // Another replica holding the lease is loading a current value, which is read once it is published. If the
+        // lease keeps being renewed without a value showing up, for example because the holders keep failing,
+        // waiting longer than one lease would only add latency.
+        return call(() -> sharedCache.tryLease(key, owner, leaseTime))
+                .flatMap(leased -> {
+                    if (leased) {
+                        return loadLeased(key, type, ttl, loader, refresh);
+                    }
+                    if (polls >= maxPolls) {
+                        log.debug("Gave up waiting for the shared cache lease on {}", key);
+                        return loader.get();
+                    }
+                    return Mono.delay(pollInterval).then(Mono.defer(() -> attempt(key, type, ttl, loader, polls + 1)));
+                });
+    }
+
+    private <T> Mono<List<T>> loadLeased(String key, JavaType type, Duration ttl, Supplier<Mono<List<T>>> loader,
+                                         boolean refresh) {
+        // The previous holder may have published its value between the first read and taking the lease
+        Mono<List<T>> published = refresh ? Mono.empty() : read(key, type);
+        return published
+                .switchIfEmpty(Mono.defer(() -> loader.get().flatMap(value -> write(key, value, ttl))))
+                .doFinally(signal -> Mono.fromRunnable(() -> sharedCache.release(key, owner))
+                        .subscribeOn(scheduler)
+                        .subscribe(null, error -> log.warn("Could not release the shared cache lease on {}", key, error)));
+    }
+
+    private <T> Mono<List<T>> read(String key, JavaType type) {
+        return call(() -> sharedCache.get(key))
+                .flatMap(Mono::justOrEmpty)
+                .flatMap(bytes -> {
+                    try {
+                        return Mono.just(objectMapper.<List<T>>readValue(bytes, type));
+                    } catch (IOException e) {
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    private <T> Mono<List<T>> write(String key, List<T> value, Duration ttl) {
+        // The value is already loaded, failing to share it must not fail the request
+        return call(() -> {
+            sharedCache.put(key, objectMapper.writeValueAsBytes(value), ttl);
+            return value;
+        }).onErrorResume(error -> {
+            log.warn("Could not write {} to the shared cache", key, error);
+            return Mono.just(value);
+        });
+    }
+
+    private Duration ttl(EndpointType endpointType) {
+        // GraphQL results embed branch heads, so they age like branch lists, as in GitHubResponseCache
+        return endpointType == EndpointType.REPOSITORIES ? repositoriesTtl : branchesTtl;
+    }
+
+    /**
+     * Reduces a URL to the part GitHub resolves, so keys match however the host was written. Logins and
+     * repository names are case insensitive on GitHub, branch names are not.
+     */
+    private static String path(String url) {
+        int scheme = url.indexOf(SCHEME_SEPARATOR);
+        int pathStart = scheme < 0 ? 0 : url.indexOf('/', scheme + SCHEME_SEPARATOR.length());
+        String path = pathStart < 0 ? "/" : url.substring(pathStart);
+        int branches = path.indexOf(BRANCHES_SEGMENT);
+        if (branches < 0) {
+            return path.toLowerCase(Locale.ROOT);
+        }
+        int branch = branches + BRANCHES_SEGMENT.length();
+        return path.substring(0, branch).toLowerCase(Locale.ROOT) + path.substring(branch);
+    }
+
+    private <V> Mono<V> call(Callable<V> operation) {
+        return Mono.fromCallable(operation).subscribeOn(scheduler);
+    }
+}
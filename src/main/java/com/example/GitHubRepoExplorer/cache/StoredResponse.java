@@ -0,0 +1,4 @@
+package com.example.GitHubRepoExplorer.cache;
+
+public record StoredResponse(String etag, String contentType, byte[] body) {
+}
@@ -0,0 +1,64 @@
+package com.example.GitHubRepoExplorer.config;
+
+import com.example.GitHubRepoExplorer.ratelimit.PooledToken;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitBudget;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RateLimitConfig {
+    private static final String ANONYMOUS_TOKEN = "";
+
+    @Value("${github.token}")
+    private String token;
+
+    @Value("${github.tokens}")
+    private List<String> tokens;
+
+    @Value("${github.token-pool.quarantine}")
+    private Duration quarantine;
+
+    @Value("${github.rate-limit.requests-per-second}")
+    private double requestsPerSecond;
+
+    @Value("${github.rate-limit.burst}")
+    private int burst;
+
+    @Value("${github.rate-limit.max-queue-wait}")
+    private Duration maxQueueWait;
+
+    @Value("${github.rate-limit.low-priority-reserve}")
+    private int lowPriorityReserve;
+
+    @Bean
+    public Clock rateLimitClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public TokenPool tokenPool(Clock clock) {
+        List<PooledToken> pooledTokens = credentials().stream()
+                .map(value -> new PooledToken(value, new RateLimitBudget(requestsPerSecond, burst, maxQueueWait,
+                        lowPriorityReserve, clock)))
+                .toList();
+        return new TokenPool(pooledTokens, quarantine, clock);
+    }
+
+    private List<String> credentials() {
+        List<String> credentials = tokens.stream()
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .toList();
+        if (!credentials.isEmpty()) {
+            return credentials;
+        }
+        return List.of(token.isBlank() ? ANONYMOUS_TOKEN : token.trim());
+    }
+}
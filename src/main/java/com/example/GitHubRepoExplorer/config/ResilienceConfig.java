@@ -0,0 +1,71 @@
+package com.example.GitHubRepoExplorer.config;
+
+import com.example.GitHubRepoExplorer.resilience.Bulkhead;
+import com.example.GitHubRepoExplorer.resilience.CircuitBreaker;
+import com.example.GitHubRepoExplorer.resilience.LatencyTracker;
+import com.example.GitHubRepoExplorer.resilience.ResilienceFilter;
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+public class ResilienceConfig {
+    private static final int LATENCY_SAMPLES = 512;
+
+    @Value("${github.resilience.circuit-breaker.window-size}")
+    private int windowSize;
+
+    @Value("${github.resilience.circuit-breaker.minimum-calls}")
+    private int minimumCalls;
+
+    @Value("${github.resilience.circuit-breaker.failure-rate-threshold}")
+    private double failureRateThreshold;
+
+    @Value("${github.resilience.circuit-breaker.open-duration}")
+    private Duration openDuration;
+
+    @Value("${github.resilience.circuit-breaker.half-open-calls}")
+    private int halfOpenCalls;
+
+    @Value("${github.resilience.bulkhead.max-concurrent-calls}")
+    private int maxConcurrentCalls;
+
+    @Value("${github.resilience.retry.max-retries}")
+    private int maxRetries;
+
+    @Value("${github.resilience.retry.min-backoff}")
+    private Duration minBackoff;
+
+    @Value("${github.resilience.retry.max-backoff}")
+    private Duration maxBackoff;
+
+    @Value("${github.resilience.hedge.enabled}")
+    private boolean hedgeEnabled;
+
+    @Value("${github.resilience.hedge.percentile}")
+    private double hedgePercentile;
+
+    @Value("${github.resilience.hedge.min-delay}")
+    private Duration hedgeMinDelay;
+
+    @Value("${github.resilience.timeout}")
+    private Duration timeout;
+
+    @Bean
+    public ResilienceFilter resilienceFilter() {
+        Clock clock = Clock.systemUTC();
+        Map<EndpointType, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointType.class);
+        for (EndpointType endpointType : EndpointType.values()) {
+            circuitBreakers.put(endpointType, new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                    openDuration, halfOpenCalls, clock));
+        }
+        return new ResilienceFilter(circuitBreakers, new Bulkhead(maxConcurrentCalls), maxRetries, minBackoff, maxBackoff,
+                new LatencyTracker(LATENCY_SAMPLES, hedgePercentile), hedgeEnabled, hedgeMinDelay, timeout);
+    }
+}
@@ -1,19 +1,110 @@
 package com.example.GitHubRepoExplorer.config;
 
+import com.example.GitHubRepoExplorer.cache.ETagRevalidationFilter;
+import com.example.GitHubRepoExplorer.metrics.UpstreamMetricsFilter;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitFilter;
+import com.example.GitHubRepoExplorer.resilience.ResilienceFilter;
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import com.example.GitHubRepoExplorer.utils.GitHubJsonDecoder;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
+    private static final String CONNECTION_PROVIDER_NAME = "github";
+
     @Value("${github.api.url}")
     private String baseUrl;
 
+    @Value("${github.etag.enabled}")
+    private boolean etagEnabled;
+
+    @Value("${github.http.max-connections}")
+    private int maxConnections;
+
+    @Value("${github.http.pending-acquire-max-count}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${github.http.pending-acquire-timeout}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${github.http.max-idle-time}")
+    private Duration maxIdleTime;
+
+    @Value("${github.http.max-life-time}")
+    private Duration maxLifeTime;
+
+    @Value("${github.http.evict-in-background}")
+    private Duration evictInBackground;
+
+    @Value("${github.http.connect-timeout}")
+    private Duration connectTimeout;
+
+    @Value("${github.http.response-timeout}")
+    private Duration responseTimeout;
+
+    @Value("${github.http.http2}")
+    private boolean http2;
+
+    @Value("${github.http.compression}")
+    private boolean compression;
+
+    @Value("${github.http.max-in-memory-size}")
+    private DataSize maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider gitHubConnectionProvider() {
+        return ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
+    public WebClient webClient(ConnectionProvider gitHubConnectionProvider, ResilienceFilter resilienceFilter,
+                               ETagRevalidationFilter etagRevalidationFilter, RateLimitFilter rateLimitFilter,
+                               UpstreamMetricsFilter upstreamMetricsFilter) {
+        HttpClient httpClient = HttpClient.create(gitHubConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .compress(compression)
+                .metrics(true, uri -> EndpointType.fromUrl(uri).getTag());
+        if (http2) {
+            // HTTP/2 is negotiated through ALPN on TLS connections, plain connections stay on HTTP/1.1
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        WebClient.Builder builder = WebClient.builder()
                 .baseUrl(baseUrl)
-                .build();
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes());
+                    // Registered ahead of the default Jackson decoder, which keeps every other type
+                    codecs.customCodecs().register(new GitHubJsonDecoder((int) maxInMemorySize.toBytes()));
+                })
+                // Outermost, so retries and hedged requests are revalidated and rate limited like any other call
+                .filter(resilienceFilter);
+        if (etagEnabled) {
+            builder.filter(etagRevalidationFilter);
+        }
+        builder.filter(rateLimitFilter);
+        // Innermost, so every exchange is measured, including 304 revalidations and retries with another token
+        builder.filter(upstreamMetricsFilter);
+        return builder.build();
     }
 }
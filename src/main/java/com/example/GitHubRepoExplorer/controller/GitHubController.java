@@ -1,35 +1,46 @@
 package com.example.GitHubRepoExplorer.controller;
 
+import com.example.GitHubRepoExplorer.cache.SerializedResponseCache;
 import com.example.GitHubRepoExplorer.domain.Repository;
-import com.example.GitHubRepoExplorer.exception.InvalidAcceptHeaderException;
-import com.example.GitHubRepoExplorer.exception.InvalidParamException;
+import com.example.GitHubRepoExplorer.domain.RepositoryChanges;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
+import com.example.GitHubRepoExplorer.dto.BatchRequest;
 import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryChangeTracker;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
 @Tag(name = "GitHubRepoExplorer", description = "Endpoints for accessing repositories from GitHub API")
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GitHubController {
-    private static final String MEDIA_TYPE = "application/json";
-    private static final String INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE = "Invalid Accept header";
-    private static final String INVALID_PER_PAGE_PARAMETER_EXCEPTION_MESSAGE = "Invalid per_page parameter";
-    private static final String INVALID_PAGE_PARAMETER_EXCEPTION_MESSAGE = "Invalid page parameter";
-    private static final int MAX_PER_PAGE = 100;
-    private static final int MIN_PER_PAGE = 1;
     private final GitHubService gitHubService;
+    private final RepositoryChangeTracker changeTracker;
+    private final RequestValidator requestValidator;
+    private final SerializedResponseCache responseCache;
 
-    public GitHubController(GitHubService gitHubService) {
+    public GitHubController(GitHubService gitHubService, RepositoryChangeTracker changeTracker,
+                            RequestValidator requestValidator, SerializedResponseCache responseCache) {
         this.gitHubService = gitHubService;
+        this.changeTracker = changeTracker;
+        this.requestValidator = requestValidator;
+        this.responseCache = responseCache;
     }
 
     @Operation(
@@ -37,7 +48,9 @@ public class GitHubController {
             description = "Fetches non forked repositories by username from GitHub API"
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully fetched repositories"),
+            @ApiResponse(responseCode = "200", description = "Successfully fetched repositories", content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Repository.class)))),
+            @ApiResponse(responseCode = "304", description = "Repositories did not change since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid per_page parameter", content = @Content(examples = {
                     @ExampleObject(value = "{\n" +
                             "    \"status\": 400,\n" +
@@ -50,6 +63,12 @@ public class GitHubController {
                             "    \"message\": \"Invalid page parameter\"\n" +
                             "}")
             })),
+            @ApiResponse(responseCode = "400", description = "Invalid fields, branch, sort or direction parameter", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 400,\n" +
+                            "    \"message\": \"Invalid fields parameter\"\n" +
+                            "}")
+            })),
             @ApiResponse(responseCode = "404", description = "User not found", content = @Content(examples = {
                     @ExampleObject(value = "{\n" +
                             "    \"status\": 404,\n" +
@@ -61,40 +80,114 @@ public class GitHubController {
                             "    \"status\": 406,\n" +
                             "    \"message\": \"Invalid Accept header\"\n" +
                             "}")
+            })),
+            @ApiResponse(responseCode = "503", description = "GitHub API rate limit exceeded", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 503,\n" +
+                            "    \"message\": \"GitHub API rate limit exceeded\"\n" +
+                            "}")
             }))
     })
     @GetMapping("/repos/{username}")
-    public ResponseEntity<List<Repository>> getRepositories(
+    public ResponseEntity<byte[]> getRepositories(
             @PathVariable String username,
             @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             @RequestParam(name = "per_page", defaultValue = "30") int perPage,
-            @RequestParam(name = "page", defaultValue = "1") int page
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "all", defaultValue = "false") boolean all,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            @RequestParam(name = "branch", defaultValue = RepositoryQuery.ALL_BRANCHES) String branch,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "direction", defaultValue = "asc") String direction
     ) {
-        checkAcceptHeader(acceptHeader);
+        requestValidator.validate(acceptHeader, perPage, page);
+        RepositoryQuery query = requestValidator.toQuery(fields, branch, name, sort, direction);
 
-        checkPerPageParameter(perPage);
+        List<Repository> repositories = all
+                ? gitHubService.getAllNonForkedRepositoriesByUsername(username, query)
+                : gitHubService.getNonForkedRepositoriesByUsername(username, perPage, page, query);
+        return responseCache.serialize(RepositoriesResponseKey.of(username, perPage, page, all, query), repositories)
+                .toResponseEntity(acceptEncoding);
+    }
 
-        checkPageParameter(page);
+    @Operation(
+            summary = "Stream non forked repositories",
+            description = "Streams non forked repositories by username from GitHub API as NDJSON or server-sent events, "
+                    + "emitting each repository as soon as its branches are fetched"
+    )
+    @GetMapping(value = "/repos/{username}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Repository> streamRepositories(
+            @PathVariable String username,
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "all", defaultValue = "false") boolean all,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            @RequestParam(name = "branch", defaultValue = RepositoryQuery.ALL_BRANCHES) String branch,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "direction", defaultValue = "asc") String direction
+    ) {
+        requestValidator.validate(acceptHeader, perPage, page);
+        RepositoryQuery query = requestValidator.toQuery(fields, branch, name, sort, direction);
 
-        List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername(username, perPage, page);
-        return ResponseEntity.ok(repositories);
+        return getNonForkedRepositories(username, perPage, page, all, query);
     }
 
-    private void checkAcceptHeader(String acceptHeader) {
-        if (!MEDIA_TYPE.equals(acceptHeader)) {
-            throw new InvalidAcceptHeaderException(INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE);
-        }
+    @Operation(
+            summary = "Get changes of non forked repositories",
+            description = "Returns repositories and branch heads added, changed or removed since the cursor of an earlier call. "
+                    + "Without a cursor, or with one that is no longer known, every repository is returned as added and complete is set"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully fetched changes"),
+            @ApiResponse(responseCode = "404", description = "User not found", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 404,\n" +
+                            "    \"message\": \"User not found\"\n" +
+                            "}")
+            })),
+            @ApiResponse(responseCode = "406", description = "Invalid Accept header", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 406,\n" +
+                            "    \"message\": \"Invalid Accept header\"\n" +
+                            "}")
+            }))
+    })
+    @GetMapping("/repos/{username}/changes")
+    public ResponseEntity<RepositoryChanges> getRepositoryChanges(
+            @PathVariable String username,
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestParam(name = "since", required = false) String since
+    ) {
+        requestValidator.validateChanges(acceptHeader);
+
+        return ResponseEntity.ok(changeTracker.getChangesByUsername(username, since));
     }
 
-    private void checkPerPageParameter(int perPage) {
-        if (perPage < MIN_PER_PAGE || perPage > MAX_PER_PAGE) {
-            throw new InvalidParamException(INVALID_PER_PAGE_PARAMETER_EXCEPTION_MESSAGE);
-        }
+    @Operation(
+            summary = "Get non forked repositories of several users",
+            description = "Fetches non forked repositories for up to 200 usernames in one call. Users are fetched concurrently, "
+                    + "identical GitHub calls are shared and a failing user is reported in its own entry"
+    )
+    @PostMapping("/repos:batch")
+    public ResponseEntity<List<UserRepositories>> getRepositoriesBatch(
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestBody BatchRequest request
+    ) {
+        requestValidator.validateBatch(acceptHeader, request);
+
+        List<UserRepositories> results = gitHubService.getNonForkedRepositoriesByUsernames(
+                request.getUsernames(), request.getPer_page(), request.getPage(), request.isAll());
+        return ResponseEntity.ok(results);
     }
 
-    private void checkPageParameter(int page) {
-        if (page < 1) {
-            throw new InvalidParamException(INVALID_PAGE_PARAMETER_EXCEPTION_MESSAGE);
-        }
+    private Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, boolean all,
+                                                      RepositoryQuery query) {
+        return all
+                ? gitHubService.getAllNonForkedRepositories(username, query)
+                : gitHubService.getNonForkedRepositories(username, perPage, page, query);
     }
 }
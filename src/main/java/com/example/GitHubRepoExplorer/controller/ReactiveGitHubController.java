@@ -0,0 +1,137 @@
+package com.example.GitHubRepoExplorer.controller;
+
+import com.example.GitHubRepoExplorer.cache.SerializedResponseCache;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.RepositoryChanges;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
+import com.example.GitHubRepoExplorer.dto.BatchRequest;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryChangeTracker;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux variant of {@link GitHubController}, active when the application runs with
+ * {@code spring.main.web-application-type=reactive}. Nothing on this path blocks, so requests
+ * are served from the Netty event loop threads.
+ */
+@Tag(name = "GitHubRepoExplorer", description = "Endpoints for accessing repositories from GitHub API")
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGitHubController {
+    private final GitHubService gitHubService;
+    private final RepositoryChangeTracker changeTracker;
+    private final RequestValidator requestValidator;
+    private final SerializedResponseCache responseCache;
+
+    public ReactiveGitHubController(GitHubService gitHubService, RepositoryChangeTracker changeTracker,
+                                    RequestValidator requestValidator, SerializedResponseCache responseCache) {
+        this.gitHubService = gitHubService;
+        this.changeTracker = changeTracker;
+        this.requestValidator = requestValidator;
+        this.responseCache = responseCache;
+    }
+
+    @Operation(
+            summary = "Get non forked repositories",
+            description = "Fetches non forked repositories by username from GitHub API"
+    )
+    @GetMapping("/repos/{username}")
+    public Mono<ResponseEntity<byte[]>> getRepositories(
+            @PathVariable String username,
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "all", defaultValue = "false") boolean all,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            @RequestParam(name = "branch", defaultValue = RepositoryQuery.ALL_BRANCHES) String branch,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "direction", defaultValue = "asc") String direction
+    ) {
+        requestValidator.validate(acceptHeader, perPage, page);
+        RepositoryQuery query = requestValidator.toQuery(fields, branch, name, sort, direction);
+
+        RepositoriesResponseKey key = RepositoriesResponseKey.of(username, perPage, page, all, query);
+        return getNonForkedRepositories(username, perPage, page, all, query)
+                .collectList()
+                .map(repositories -> responseCache.serialize(key, repositories).toResponseEntity(acceptEncoding));
+    }
+
+    @Operation(
+            summary = "Stream non forked repositories",
+            description = "Streams non forked repositories by username from GitHub API as NDJSON or server-sent events, "
+                    + "emitting each repository as soon as its branches are fetched"
+    )
+    @GetMapping(value = "/repos/{username}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Repository> streamRepositories(
+            @PathVariable String username,
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestParam(name = "per_page", defaultValue = "30") int perPage,
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "all", defaultValue = "false") boolean all,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            @RequestParam(name = "branch", defaultValue = RepositoryQuery.ALL_BRANCHES) String branch,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "direction", defaultValue = "asc") String direction
+    ) {
+        requestValidator.validate(acceptHeader, perPage, page);
+        RepositoryQuery query = requestValidator.toQuery(fields, branch, name, sort, direction);
+
+        return getNonForkedRepositories(username, perPage, page, all, query);
+    }
+
+    @Operation(
+            summary = "Get changes of non forked repositories",
+            description = "Returns repositories and branch heads added, changed or removed since the cursor of an earlier call"
+    )
+    @GetMapping("/repos/{username}/changes")
+    public Mono<ResponseEntity<RepositoryChanges>> getRepositoryChanges(
+            @PathVariable String username,
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestParam(name = "since", required = false) String since
+    ) {
+        requestValidator.validateChanges(acceptHeader);
+
+        return changeTracker.getChanges(username, since)
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Get non forked repositories of several users",
+            description = "Fetches non forked repositories for up to 200 usernames in one call. Users are fetched concurrently, "
+                    + "identical GitHub calls are shared and a failing user is reported in its own entry"
+    )
+    @PostMapping("/repos:batch")
+    public Mono<ResponseEntity<List<UserRepositories>>> getRepositoriesBatch(
+            @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader,
+            @RequestBody BatchRequest request
+    ) {
+        requestValidator.validateBatch(acceptHeader, request);
+
+        return gitHubService.getNonForkedRepositoriesForUsers(
+                        request.getUsernames(), request.getPer_page(), request.getPage(), request.isAll())
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    private Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, boolean all,
+                                                      RepositoryQuery query) {
+        return all
+                ? gitHubService.getAllNonForkedRepositories(username, query)
+                : gitHubService.getNonForkedRepositories(username, perPage, page, query);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.GitHubRepoExplorer.controller;
+
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+
+/**
+ * Identifies a serialized {@code /api/repos/{username}} response. Paging is ignored when every page is returned.
+ */
+record RepositoriesResponseKey(String username, int perPage, int page, boolean all, RepositoryQuery query) {
+    static RepositoriesResponseKey of(String username, int perPage, int page, boolean all, RepositoryQuery query) {
+        return all
+                ? new RepositoriesResponseKey(username, 0, 0, true, query)
+                : new RepositoriesResponseKey(username, perPage, page, false, query);
+    }
+}
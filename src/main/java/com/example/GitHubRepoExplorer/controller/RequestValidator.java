@@ -0,0 +1,150 @@
+package com.example.GitHubRepoExplorer.controller;
+
+import com.example.GitHubRepoExplorer.dto.BatchRequest;
+import com.example.GitHubRepoExplorer.exception.InvalidAcceptHeaderException;
+import com.example.GitHubRepoExplorer.exception.InvalidParamException;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class RequestValidator {
+    private static final Set<String> MEDIA_TYPES = Set.of(
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    );
+    private static final String INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE = "Invalid Accept header";
+    private static final String INVALID_PER_PAGE_PARAMETER_EXCEPTION_MESSAGE = "Invalid per_page parameter";
+    private static final String INVALID_PAGE_PARAMETER_EXCEPTION_MESSAGE = "Invalid page parameter";
+    private static final String INVALID_FIELDS_PARAMETER_EXCEPTION_MESSAGE = "Invalid fields parameter";
+    private static final String INVALID_BRANCH_PARAMETER_EXCEPTION_MESSAGE = "Invalid branch parameter";
+    private static final String INVALID_SORT_PARAMETER_EXCEPTION_MESSAGE = "Invalid sort parameter";
+    private static final String INVALID_DIRECTION_PARAMETER_EXCEPTION_MESSAGE = "Invalid direction parameter";
+    private static final String SORT_BY_NAME = "name";
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+    private static final String INVALID_USERNAMES_PARAMETER_EXCEPTION_MESSAGE = "Invalid usernames parameter";
+    private static final int MAX_BATCH_USERNAMES = 200;
+    private static final int MAX_BRANCH_LENGTH = 255;
+    private static final String BRANCH_SEPARATOR = "/";
+    private static final String FORBIDDEN_BRANCH_CHARACTERS = " ~^:?*[\\";
+    private static final List<String> FORBIDDEN_BRANCH_SEQUENCES = List.of("..", "@{", "//");
+    private static final int MAX_PER_PAGE = 100;
+    private static final int MIN_PER_PAGE = 1;
+
+    public void validate(String acceptHeader, int perPage, int page) {
+        checkAcceptHeader(acceptHeader);
+
+        checkPerPageParameter(perPage);
+
+        checkPageParameter(page);
+    }
+
+    private void checkAcceptHeader(String acceptHeader) {
+        if (!MEDIA_TYPES.contains(acceptHeader)) {
+            throw new InvalidAcceptHeaderException(INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    private void checkUsernamesParameter(List<String> usernames) {
+        if (usernames == null || usernames.isEmpty() || usernames.size() > MAX_BATCH_USERNAMES
+                || usernames.stream().anyMatch(username -> username == null || username.isBlank())) {
+            throw new InvalidParamException(INVALID_USERNAMES_PARAMETER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    private void checkPerPageParameter(int perPage) {
+        if (perPage < MIN_PER_PAGE || perPage > MAX_PER_PAGE) {
+            throw new InvalidParamException(INVALID_PER_PAGE_PARAMETER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    private void checkPageParameter(int page) {
+        if (page < 1) {
+            throw new InvalidParamException(INVALID_PAGE_PARAMETER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    public void validateChanges(String acceptHeader) {
+        if (!MediaType.APPLICATION_JSON_VALUE.equals(acceptHeader)) {
+            throw new InvalidAcceptHeaderException(INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    public void validateBatch(String acceptHeader, BatchRequest request) {
+        if (!MediaType.APPLICATION_JSON_VALUE.equals(acceptHeader)) {
+            throw new InvalidAcceptHeaderException(INVALID_ACCEPT_HEADER_EXCEPTION_MESSAGE);
+        }
+
+        checkUsernamesParameter(request.getUsernames());
+
+        checkPerPageParameter(request.getPer_page());
+
+        checkPageParameter(request.getPage());
+    }
+
+    public RepositoryQuery toQuery(List<String> fields, String branch, String name, String sort, String direction) {
+        checkBranchParameter(branch);
+        String nameFilter = name == null || name.isBlank() ? null : name;
+        return new RepositoryQuery(toFields(fields), branch, nameFilter, toSort(sort, direction));
+    }
+
+    private void checkBranchParameter(String branch) {
+        if (!isValidRefName(branch)) {
+            throw new InvalidParamException(INVALID_BRANCH_PARAMETER_EXCEPTION_MESSAGE);
+        }
+    }
+
+    // Follows git check-ref-format, a name that git would reject cannot exist upstream and is never sent there
+    private boolean isValidRefName(String branch) {
+        if (branch.isBlank() || branch.length() > MAX_BRANCH_LENGTH || "@".equals(branch)
+                || branch.startsWith(BRANCH_SEPARATOR) || branch.endsWith(BRANCH_SEPARATOR) || branch.endsWith(".")
+                || FORBIDDEN_BRANCH_SEQUENCES.stream().anyMatch(branch::contains)) {
+            return false;
+        }
+        for (int i = 0; i < branch.length(); i++) {
+            char c = branch.charAt(i);
+            if (Character.isISOControl(c) || FORBIDDEN_BRANCH_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        for (String component : branch.split(BRANCH_SEPARATOR)) {
+            if (component.startsWith(".") || component.endsWith(".lock")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<RepositoryField> toFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return EnumSet.allOf(RepositoryField.class);
+        }
+        Set<RepositoryField> selected = EnumSet.noneOf(RepositoryField.class);
+        for (String field : fields) {
+            selected.add(RepositoryField.fromParameter(field)
+                    .orElseThrow(() -> new InvalidParamException(INVALID_FIELDS_PARAMETER_EXCEPTION_MESSAGE)));
+        }
+        return selected;
+    }
+
+    private RepositorySort toSort(String sort, String direction) {
+        if (!ASCENDING.equals(direction) && !DESCENDING.equals(direction)) {
+            throw new InvalidParamException(INVALID_DIRECTION_PARAMETER_EXCEPTION_MESSAGE);
+        }
+        if (sort == null) {
+            return RepositorySort.UPSTREAM;
+        }
+        if (!SORT_BY_NAME.equals(sort)) {
+            throw new InvalidParamException(INVALID_SORT_PARAMETER_EXCEPTION_MESSAGE);
+        }
+        return DESCENDING.equals(direction) ? RepositorySort.NAME_DESC : RepositorySort.NAME_ASC;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.GitHubRepoExplorer.controller;
+
+import com.example.GitHubRepoExplorer.webhook.WebhookEventHandler;
+import com.example.GitHubRepoExplorer.webhook.WebhookSignatureVerifier;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "GitHubRepoExplorer", description = "Endpoints for accessing repositories from GitHub API")
+@RestController
+@RequestMapping("/api")
+public class WebhookController {
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final WebhookEventHandler eventHandler;
+
+    public WebhookController(WebhookSignatureVerifier signatureVerifier, WebhookEventHandler eventHandler) {
+        this.signatureVerifier = signatureVerifier;
+        this.eventHandler = eventHandler;
+    }
+
+    @Operation(
+            summary = "Receive GitHub webhook deliveries",
+            description = "Patches or drops the cached repository and branch lists affected by push, create, delete, repository and fork events"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Delivery applied or ignored"),
+            @ApiResponse(responseCode = "400", description = "Invalid webhook payload", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 400,\n" +
+                            "    \"message\": \"Invalid webhook payload\"\n" +
+                            "}")
+            })),
+            @ApiResponse(responseCode = "401", description = "Invalid webhook signature", content = @Content(examples = {
+                    @ExampleObject(value = "{\n" +
+                            "    \"status\": 401,\n" +
+                            "    \"message\": \"Invalid webhook signature\"\n" +
+                            "}")
+            }))
+    })
+    @PostMapping("/webhooks/github")
+    public ResponseEntity<Void> receive(
+            @RequestHeader("X-GitHub-Event") String event,
+            @RequestHeader(name = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] body) {
+        signatureVerifier.verify(signature, body);
+        eventHandler.handle(event, body);
+        return ResponseEntity.noContent().build();
+    }
+}
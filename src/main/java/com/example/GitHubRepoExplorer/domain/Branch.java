@@ -1,17 +1,19 @@
 package com.example.GitHubRepoExplorer.domain;
 
+import com.github.benmanes.caffeine.cache.Interner;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 @Schema(name = "Branch", description = "A branch of a repository")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Branch {
-    @Schema(description = "Name of the branch")
-    private String name;
-    @Schema(description = "Last commit of the branch")
-    private Commit commit;
-}
\ No newline at end of file
+public record Branch(
+        @Schema(description = "Name of the branch")
+        String name,
+        @Schema(description = "Last commit of the branch")
+        Commit commit
+) {
+    private static final Interner<String> NAMES = Interner.newWeakInterner();
+
+    public Branch {
+        // Names like main, master and develop repeat across nearly every cached branch list
+        name = name == null ? null : NAMES.intern(name);
+    }
+}
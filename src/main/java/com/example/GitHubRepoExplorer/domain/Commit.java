@@ -1,15 +1,85 @@
 package com.example.GitHubRepoExplorer.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * A commit reference. A full lowercase SHA-1, which is what GitHub sends, is held as its 20 bytes in three
+ * primitive fields instead of a 40 character string; any other value is kept as given. Either way {@link #sha()}
+ * returns the original text, so the JSON form is unchanged.
+ */
 @Schema(name = "Commit", description = "A last commit of a branch")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Commit {
+public final class Commit {
+    private static final int SHA_LENGTH = 40;
+
+    private final long high;
+    private final long middle;
+    private final int low;
+    private final boolean compact;
+    private final String text;
+
+    @JsonCreator
+    public Commit(@JsonProperty("sha") String sha) {
+        if (isSha(sha)) {
+            this.high = Long.parseUnsignedLong(sha, 0, 16, 16);
+            this.middle = Long.parseUnsignedLong(sha, 16, 32, 16);
+            this.low = Integer.parseUnsignedInt(sha, 32, 40, 16);
+            this.compact = true;
+            this.text = null;
+        } else {
+            this.high = 0;
+            this.middle = 0;
+            this.low = 0;
+            this.compact = false;
+            this.text = sha;
+        }
+    }
+
     @Schema(description = "SHA of the commit")
-    private String sha;
+    @JsonProperty("sha")
+    public String sha() {
+        if (!compact) {
+            return text;
+        }
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(high) + hex.toHexDigits(middle) + hex.toHexDigits(low);
+    }
+
+    private static boolean isSha(String sha) {
+        if (sha == null || sha.length() != SHA_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < SHA_LENGTH; i++) {
+            char c = sha.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Commit commit && high == commit.high && middle == commit.middle && low == commit.low
+                && compact == commit.compact && Objects.equals(text, commit.text);
+    }
+
+    @Override
+    public int hashCode() {
+        // Combined by hand, Objects.hash would box every field into a new array on each call
+        int result = Long.hashCode(high);
+        result = 31 * result + Long.hashCode(middle);
+        result = 31 * result + Integer.hashCode(low);
+        result = 31 * result + Boolean.hashCode(compact);
+        return 31 * result + (text == null ? 0 : text.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return "Commit(sha=" + sha() + ")";
+    }
 }
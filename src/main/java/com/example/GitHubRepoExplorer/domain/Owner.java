@@ -1,15 +1,22 @@
 package com.example.GitHubRepoExplorer.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.Interner;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 @Schema(name = "Owner", description = "An owner of a repository")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Owner {
-    @Schema(description = "Login of the owner")
-    private String login;
+public record Owner(
+        @Schema(description = "Login of the owner")
+        String login
+) {
+    private static final Interner<Owner> OWNERS = Interner.newWeakInterner();
+
+    /**
+     * Returns the shared instance for {@code login}, so all cached repositories of a user reference one owner.
+     */
+    @JsonCreator
+    public static Owner of(@JsonProperty("login") String login) {
+        return OWNERS.intern(new Owner(login));
+    }
 }
@@ -1,21 +1,18 @@
 package com.example.GitHubRepoExplorer.domain;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Schema(name = "Repository", description = "A repository on GitHub")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Repository {
-    @Schema(description = "Name of the repository")
-    private String name;
-    @Schema(description = "Owner of the repository")
-    private Owner owner;
-    @Schema(description = "List of branches of the repository")
-    private List<Branch> branches;
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Repository(
+        @Schema(description = "Name of the repository")
+        String name,
+        @Schema(description = "Owner of the repository")
+        Owner owner,
+        @Schema(description = "List of branches of the repository")
+        List<Branch> branches
+) {
 }
@@ -0,0 +1,23 @@
+package com.example.GitHubRepoExplorer.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(name = "RepositoryChange", description = "Branch heads of a repository changed since a cursor")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryChange {
+    @Schema(description = "Name of the repository")
+    private String name;
+    @Schema(description = "Owner of the repository")
+    private Owner owner;
+    @Schema(description = "Branches that were created or whose last commit moved")
+    private List<Branch> branches;
+    @Schema(description = "Names of branches that were deleted")
+    private List<String> removedBranches;
+}
@@ -0,0 +1,28 @@
+package com.example.GitHubRepoExplorer.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(name = "RepositoryChanges", description = "Repositories and branch heads of a user changed since a cursor")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryChanges {
+    @Schema(description = "Cursor of the current state, passed as since on the next call")
+    private String cursor;
+    @Schema(description = "True when since was missing or no longer known, added then holds every repository")
+    private boolean complete;
+    @Schema(description = "Repositories that did not exist at the cursor, with all their branches")
+    private List<Repository> added;
+    @Schema(description = "Repositories whose branch heads changed since the cursor")
+    private List<RepositoryChange> changed;
+    @Schema(description = "Names of repositories that were removed since the cursor")
+    private List<String> removed;
+    @Schema(description = "True when the listing stopped at the page cap, removed is then left empty because "
+            + "repositories beyond the cap cannot be told apart from deleted ones")
+    private boolean truncated;
+}
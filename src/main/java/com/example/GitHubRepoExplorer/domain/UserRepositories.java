@@ -0,0 +1,24 @@
+package com.example.GitHubRepoExplorer.domain;
+
+import com.example.GitHubRepoExplorer.exception.ErrorResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(name = "UserRepositories", description = "Repositories of a single user in a batch, or the error that user ran into")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRepositories {
+    @Schema(description = "Login of the user")
+    private String username;
+    @Schema(description = "Non forked repositories of the user")
+    private List<Repository> repositories;
+    @Schema(description = "Error returned for this user instead of repositories")
+    private ErrorResponse error;
+}
@@ -0,0 +1,17 @@
+package com.example.GitHubRepoExplorer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    private List<String> usernames;
+    private int per_page = 30;
+    private int page = 1;
+    private boolean all;
+}
@@ -13,4 +13,5 @@ public class RepositoryDTO {
     private Owner owner;
     private boolean fork;
     private String branches_url;
+    private String default_branch;
 }
@@ -0,0 +1,7 @@
+package com.example.GitHubRepoExplorer.exception;
+
+public class InvalidSignatureException extends RuntimeException {
+    public InvalidSignatureException(String message) {
+        super(message);
+    }
+}
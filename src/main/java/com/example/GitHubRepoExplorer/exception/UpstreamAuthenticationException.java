@@ -0,0 +1,16 @@
+package com.example.GitHubRepoExplorer.exception;
+
+import java.time.Duration;
+
+public class UpstreamAuthenticationException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamAuthenticationException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
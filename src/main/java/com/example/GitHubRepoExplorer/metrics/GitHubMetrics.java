@@ -0,0 +1,103 @@
+package com.example.GitHubRepoExplorer.metrics;
+
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters for the cost of serving a request: lookups through {@code GitHubResponseCache} tagged with their cache
+ * outcome, HTTP calls that actually leave for GitHub tagged with their status, and the number of such calls
+ * per inbound request. Calls are attributed to a request through the Reactor context.
+ */
+@Component
+public class GitHubMetrics {
+    private static final String UPSTREAM_CALLS_CONTEXT_KEY = GitHubMetrics.class.getName() + ".upstreamCalls";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary upstreamCallsPerRequest;
+
+    public GitHubMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.upstreamCallsPerRequest = DistributionSummary.builder("github.upstream.calls.per.request")
+                .description("GitHub calls made to serve one inbound request")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void recordLookup(Timer.Sample sample, EndpointType endpointType, CacheOutcome cacheOutcome, boolean success) {
+        sample.stop(Timer.builder("github.api.requests")
+                .description("Repository and branch lookups, including the ones served from cache")
+                .tag("endpoint", endpointType.getTag())
+                .tag("cache", cacheOutcome.getTag())
+                .tag("outcome", success ? "success" : "error")
+                .register(registry));
+    }
+
+    public void recordUpstreamCall(Timer.Sample sample, EndpointType endpointType, String method, String status) {
+        sample.stop(Timer.builder("github.upstream.requests")
+                .description("HTTP calls sent to GitHub")
+                .tag("endpoint", endpointType.getTag())
+                .tag("method", method)
+                .tag("status", status)
+                .register(registry));
+    }
+
+    /**
+     * Records how many upstream calls {@code source} triggered once it terminates. Nested calls, such as the
+     * users of a batch, count towards the outermost request.
+     */
+    public <T> Flux<T> countUpstreamCalls(Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            if (context.hasKey(UPSTREAM_CALLS_CONTEXT_KEY)) {
+                return source;
+            }
+            AtomicInteger calls = new AtomicInteger();
+            return trackUpstreamCalls(source, calls)
+                    .doOnTerminate(() -> upstreamCallsPerRequest.record(calls.get()))
+                    .doOnCancel(() -> upstreamCallsPerRequest.record(calls.get()));
+        });
+    }
+
+    /**
+     * Adds the upstream calls triggered by {@code source} to {@code calls} without recording them as a request.
+     */
+    public <T> Flux<T> trackUpstreamCalls(Flux<T> source, AtomicInteger calls) {
+        return source.contextWrite(Context.of(UPSTREAM_CALLS_CONTEXT_KEY, calls));
+    }
+
+    public void countUpstreamCall(ContextView context) {
+        context.<AtomicInteger>getOrEmpty(UPSTREAM_CALLS_CONTEXT_KEY).ifPresent(AtomicInteger::incrementAndGet);
+    }
+
+    public enum CacheOutcome {
+        HIT("hit"),
+        MISS("miss"),
+        SHARED("shared"),
+        BYPASS("bypass"),
+        REFRESH("refresh"),
+        STALE("stale");
+
+        private final String tag;
+
+        CacheOutcome(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+}
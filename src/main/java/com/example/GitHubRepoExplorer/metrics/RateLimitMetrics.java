@@ -0,0 +1,38 @@
+package com.example.GitHubRepoExplorer.metrics;
+
+import com.example.GitHubRepoExplorer.ratelimit.PooledToken;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the quota GitHub reported for each pooled token. Values are {@code NaN} until the first response.
+ */
+@Component
+public class RateLimitMetrics implements MeterBinder {
+    private final TokenPool tokenPool;
+
+    public RateLimitMetrics(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (PooledToken token : tokenPool.getTokens()) {
+            Gauge.builder("github.rate-limit.remaining", token, pooled -> known(pooled.getBudget().getRemaining()))
+                    .description("Calls left in the current GitHub rate-limit window")
+                    .tag("token", token.getId())
+                    .register(registry);
+            Gauge.builder("github.rate-limit.limit", token, pooled -> known(pooled.getBudget().getLimit()))
+                    .description("Calls allowed per GitHub rate-limit window")
+                    .tag("token", token.getId())
+                    .register(registry);
+        }
+    }
+
+    private double known(int value) {
+        return value < 0 ? Double.NaN : value;
+    }
+}
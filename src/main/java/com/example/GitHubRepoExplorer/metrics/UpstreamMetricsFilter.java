@@ -0,0 +1,39 @@
+package com.example.GitHubRepoExplorer.metrics;
+
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every exchange with GitHub and counts it against the inbound request. Registered as the innermost
+ * filter, so {@code 304} revalidations and retries with another token are seen as separate calls.
+ */
+@Component
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+    private static final String IO_ERROR_STATUS = "IO_ERROR";
+
+    private final GitHubMetrics metrics;
+
+    public UpstreamMetricsFilter(GitHubMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            metrics.countUpstreamCall(context);
+            EndpointType endpointType = EndpointType.fromUrl(request.url().getPath());
+            String method = request.method().name();
+            Timer.Sample sample = metrics.startTimer();
+            return next.exchange(request)
+                    .doOnNext(response -> metrics.recordUpstreamCall(sample, endpointType, method,
+                            String.valueOf(response.statusCode().value())))
+                    .doOnError(error -> metrics.recordUpstreamCall(sample, endpointType, method, IO_ERROR_STATUS));
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.GitHubRepoExplorer.ratelimit;
+
+import java.time.Instant;
+
+/**
+ * A GitHub credential with its own quota budget. An empty value stands for anonymous access.
+ */
+public class PooledToken {
+    private static final int VISIBLE_SUFFIX_LENGTH = 4;
+
+    private final String value;
+    private final RateLimitBudget budget;
+    private volatile Instant quarantinedUntil = Instant.MIN;
+
+    public PooledToken(String value, RateLimitBudget budget) {
+        this.value = value;
+        this.budget = budget;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public RateLimitBudget getBudget() {
+        return budget;
+    }
+
+    public boolean isAnonymous() {
+        return value.isEmpty();
+    }
+
+    public boolean isQuarantined(Instant now) {
+        return now.isBefore(quarantinedUntil);
+    }
+
+    public Instant getQuarantinedUntil() {
+        return quarantinedUntil;
+    }
+
+    public void quarantineUntil(Instant until) {
+        this.quarantinedUntil = until;
+    }
+
+    /**
+     * Identifier that is safe to log or use as a metric tag.
+     */
+    public String getId() {
+        if (isAnonymous()) {
+            return "anonymous";
+        }
+        return "..." + value.substring(Math.max(0, value.length() - VISIBLE_SUFFIX_LENGTH));
+    }
+}
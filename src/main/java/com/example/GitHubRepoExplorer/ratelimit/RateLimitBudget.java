@@ -0,0 +1,133 @@
+package com.example.GitHubRepoExplorer.ratelimit;
+
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tracks the GitHub quota reported through {@code X-RateLimit-*} headers and paces calls with a token bucket.
+ * {@link #reserve(RequestPriority)} either returns how long the caller has to wait for its slot or throws
+ * {@link RateLimitExceededException} when the call would be doomed or has to be shed.
+ */
+public class RateLimitBudget {
+    private static final String RATE_LIMIT_EXCEEDED_EXCEPTION_MESSAGE = "GitHub API rate limit exceeded";
+    private static final int UNKNOWN = -1;
+    private static final Duration QUOTA_WINDOW = Duration.ofHours(1);
+
+    private final double requestsPerSecond;
+    private final double burst;
+    private final Duration maxQueueWait;
+    private final int lowPriorityReserve;
+    private final Clock clock;
+
+    private double tokens;
+    private Instant lastRefill;
+    private int limit = UNKNOWN;
+    private int remaining = UNKNOWN;
+    private Instant resetAt = Instant.MIN;
+    private Instant blockedUntil = Instant.MIN;
+
+    public RateLimitBudget(double requestsPerSecond, int burst, Duration maxQueueWait, int lowPriorityReserve, Clock clock) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.maxQueueWait = maxQueueWait;
+        this.lowPriorityReserve = lowPriorityReserve;
+        this.clock = clock;
+        this.tokens = burst;
+        this.lastRefill = clock.instant();
+    }
+
+    public synchronized Duration reserve(RequestPriority priority) {
+        Instant now = clock.instant();
+        if (now.isBefore(blockedUntil)) {
+            throw exceeded(Duration.between(now, blockedUntil));
+        }
+        if (remaining != UNKNOWN && now.isBefore(resetAt)) {
+            if (remaining <= 0) {
+                throw exceeded(Duration.between(now, resetAt));
+            }
+            if (priority == RequestPriority.LOW && remaining <= lowPriorityReserve) {
+                throw exceeded(Duration.between(now, resetAt));
+            }
+        }
+
+        refill(now);
+        Duration wait = tokens >= 1
+                ? Duration.ZERO
+                : Duration.ofNanos((long) ((1 - tokens) / requestsPerSecond * 1_000_000_000L));
+        if (wait.compareTo(maxQueueWait) > 0) {
+            throw exceeded(wait);
+        }
+        tokens -= 1;
+        if (remaining > 0) {
+            remaining--;
+        }
+        return wait;
+    }
+
+    /**
+     * Returns what {@link #reserve} took for a call that GitHub did not count, such as a {@code 304 Not Modified}.
+     */
+    public synchronized void refund() {
+        tokens = Math.min(burst, tokens + 1);
+        if (remaining != UNKNOWN && (limit == UNKNOWN || remaining < limit)) {
+            remaining++;
+        }
+    }
+
+    public synchronized void update(int limit, int remaining, Instant resetAt) {
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetAt = resetAt;
+    }
+
+    public synchronized void blockUntil(Instant until) {
+        if (until.isAfter(blockedUntil)) {
+            blockedUntil = until;
+        }
+    }
+
+    /**
+     * Calls that can be made per {@code interval} without spending the quota before it resets: the remaining quota
+     * spread over the time until the reset, or the full limit spread over GitHub's hourly window once the reset
+     * passed. Nothing while the quota is unknown or a {@code Retry-After} is pending.
+     */
+    public synchronized double sustainableCalls(Duration interval) {
+        Instant now = clock.instant();
+        if (limit == UNKNOWN || now.isBefore(blockedUntil)) {
+            return 0;
+        }
+        if (!now.isBefore(resetAt)) {
+            return limit * share(interval, QUOTA_WINDOW);
+        }
+        return Math.max(0, remaining) * share(interval, Duration.between(now, resetAt));
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getRemaining() {
+        return remaining;
+    }
+
+    public synchronized Instant getResetAt() {
+        return resetAt;
+    }
+
+    private double share(Duration interval, Duration window) {
+        return Math.min(1.0, (double) interval.toNanos() / window.toNanos());
+    }
+
+    private void refill(Instant now) {
+        double elapsedSeconds = Duration.between(lastRefill, now).toNanos() / 1_000_000_000.0;
+        tokens = Math.min(burst, tokens + elapsedSeconds * requestsPerSecond);
+        lastRefill = now;
+    }
+
+    private RateLimitExceededException exceeded(Duration retryAfter) {
+        return new RateLimitExceededException(RATE_LIMIT_EXCEEDED_EXCEPTION_MESSAGE, retryAfter);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.GitHubRepoExplorer.ratelimit;
+
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Schedules GitHub calls through the {@link TokenPool}: every call is signed with the token that has the most
+ * quota left, waits for that token's bucket slot, and is rejected up front once all quota is spent or
+ * {@code Retry-After} is pending. Quota headers of every response feed back into the token's budget, and a
+ * {@code 304 Not Modified} gives back the slot and the quota its call reserved.
+ */
+@Component
+public class RateLimitFilter implements ExchangeFilterFunction {
+    public static final String RATE_LIMIT_LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+    private static final String RATE_LIMIT_EXCEEDED_EXCEPTION_MESSAGE = "GitHub API rate limit exceeded";
+
+    private final TokenPool tokenPool;
+    private final Clock clock;
+
+    public RateLimitFilter(TokenPool tokenPool, Clock clock) {
+        this.tokenPool = tokenPool;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return filter(request, next, tokenPool.getTokens().size());
+    }
+
+    private Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next, int attemptsLeft) {
+        return Mono.deferContextual(context -> {
+            RequestPriority priority = context.getOrDefault(RequestPriority.CONTEXT_KEY, RequestPriority.NORMAL);
+            TokenPool.Reservation reservation = tokenPool.reserve(priority);
+            PooledToken token = reservation.token();
+            ClientRequest signedRequest = ClientRequest.from(request)
+                    .headers(headers -> {
+                        if (!token.isAnonymous()) {
+                            headers.setBearerAuth(token.getValue());
+                        }
+                    })
+                    .build();
+
+            Mono<ClientResponse> exchange = next.exchange(signedRequest)
+                    .flatMap(response -> {
+                        if (response.statusCode() == HttpStatus.UNAUTHORIZED && !token.isAnonymous()) {
+                            tokenPool.quarantine(token);
+                            if (attemptsLeft > 1) {
+                                return response.releaseBody().then(filter(request, next, attemptsLeft - 1));
+                            }
+                        }
+                        return record(token.getBudget(), response);
+                    });
+            Duration delay = reservation.delay();
+            return delay.isZero() ? exchange : Mono.delay(delay).then(exchange);
+        });
+    }
+
+    private Mono<ClientResponse> record(RateLimitBudget budget, ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+            // Conditional requests answered with 304 do not count against GitHub's quota, so neither do they locally
+            budget.refund();
+        }
+        Integer limit = intHeader(headers, RATE_LIMIT_LIMIT_HEADER);
+        Integer remaining = intHeader(headers, RATE_LIMIT_REMAINING_HEADER);
+        Integer reset = intHeader(headers, RATE_LIMIT_RESET_HEADER);
+        if (limit != null && remaining != null && reset != null) {
+            budget.update(limit, remaining, Instant.ofEpochSecond(reset));
+        }
+
+        boolean rejected = response.statusCode() == HttpStatus.FORBIDDEN
+                || response.statusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        Integer retryAfter = intHeader(headers, HttpHeaders.RETRY_AFTER);
+        if (rejected && (retryAfter != null || (remaining != null && remaining == 0))) {
+            Instant now = clock.instant();
+            Instant blockedUntil = retryAfter != null
+                    ? now.plusSeconds(retryAfter)
+                    : reset != null ? Instant.ofEpochSecond(reset) : now;
+            budget.blockUntil(blockedUntil);
+            Duration wait = blockedUntil.isAfter(now) ? Duration.between(now, blockedUntil) : Duration.ZERO;
+            return response.releaseBody()
+                    .then(Mono.error(new RateLimitExceededException(RATE_LIMIT_EXCEEDED_EXCEPTION_MESSAGE, wait)));
+        }
+        return Mono.just(response);
+    }
+
+    private Integer intHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
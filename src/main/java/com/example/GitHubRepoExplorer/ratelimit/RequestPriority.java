@@ -0,0 +1,12 @@
+package com.example.GitHubRepoExplorer.ratelimit;
+
+/**
+ * Priority of an upstream call, read from the Reactor context under {@link #CONTEXT_KEY}.
+ * Calls without a priority are treated as {@link #NORMAL}.
+ */
+public enum RequestPriority {
+    NORMAL,
+    LOW;
+
+    public static final String CONTEXT_KEY = RequestPriority.class.getName();
+}
@@ -0,0 +1,90 @@
+package com.example.GitHubRepoExplorer.ratelimit;
+
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import com.example.GitHubRepoExplorer.exception.UpstreamAuthenticationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spreads GitHub calls over several credentials. Each call goes to the token with the most remaining quota
+ * that can take it, tokens rejected with {@code 401} are quarantined for a while, and exhausted tokens are
+ * skipped by their own {@link RateLimitBudget} until their quota resets. Once every token is quarantined, calls fail
+ * with {@link UpstreamAuthenticationException} instead of a rate limit error, since waiting for quota would not help.
+ */
+public class TokenPool {
+    private static final String ALL_TOKENS_REJECTED_EXCEPTION_MESSAGE = "GitHub rejected every configured token";
+
+    private final List<PooledToken> tokens;
+    private final Duration quarantine;
+    private final Clock clock;
+
+    public TokenPool(List<PooledToken> tokens, Duration quarantine, Clock clock) {
+        this.tokens = List.copyOf(tokens);
+        this.quarantine = quarantine;
+        this.clock = clock;
+    }
+
+    public Reservation reserve(RequestPriority priority) {
+        Instant now = clock.instant();
+        List<PooledToken> candidates = tokens.stream()
+                .filter(token -> !token.isQuarantined(now))
+                .sorted(Comparator.comparingInt(this::remaining).reversed())
+                .toList();
+        if (candidates.isEmpty()) {
+            throw new UpstreamAuthenticationException(ALL_TOKENS_REJECTED_EXCEPTION_MESSAGE, untilFirstRelease(now));
+        }
+
+        RateLimitExceededException lastRejection = null;
+        for (PooledToken token : candidates) {
+            try {
+                return new Reservation(token, token.getBudget().reserve(priority));
+            } catch (RateLimitExceededException exception) {
+                if (lastRejection == null || exception.getRetryAfter().compareTo(lastRejection.getRetryAfter()) < 0) {
+                    lastRejection = exception;
+                }
+            }
+        }
+        throw lastRejection;
+    }
+
+    /**
+     * Calls all tokens that are not quarantined can make per {@code interval} and still last until their quotas
+     * reset, see {@link RateLimitBudget#sustainableCalls}.
+     */
+    public double sustainableCalls(Duration interval) {
+        Instant now = clock.instant();
+        return tokens.stream()
+                .filter(token -> !token.isQuarantined(now))
+                .mapToDouble(token -> token.getBudget().sustainableCalls(interval))
+                .sum();
+    }
+
+    public void quarantine(PooledToken token) {
+        token.quarantineUntil(clock.instant().plus(quarantine));
+    }
+
+    public List<PooledToken> getTokens() {
+        return tokens;
+    }
+
+    private Duration untilFirstRelease(Instant now) {
+        return tokens.stream()
+                .map(PooledToken::getQuarantinedUntil)
+                .min(Comparator.naturalOrder())
+                .map(until -> Duration.between(now, until))
+                .orElse(Duration.ZERO);
+    }
+
+    private int remaining(PooledToken token) {
+        int remaining = token.getBudget().getRemaining();
+        // Tokens that have not been used yet are tried first to learn their quota
+        return remaining < 0 ? Integer.MAX_VALUE : remaining;
+    }
+
+    public record Reservation(PooledToken token, Duration delay) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.GitHubRepoExplorer.resilience;
+
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count based circuit breaker. It opens once {@code failureRateThreshold} of the last {@code windowSize} calls
+ * failed, rejects calls for {@code openDuration}, then lets {@code halfOpenCalls} trial calls through: the circuit
+ * closes when all of them succeed and opens again on the first failure.
+ */
+public class CircuitBreaker {
+    private static final String CIRCUIT_OPEN_EXCEPTION_MESSAGE = "GitHub API is unavailable";
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private Instant openedAt = Instant.MIN;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                          int halfOpenCalls, Clock clock) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * Throws {@link UpstreamUnavailableException} while the circuit is open or all trial calls are taken.
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            Instant now = clock.instant();
+            Instant retryAt = openedAt.plus(openDuration);
+            if (now.isBefore(retryAt)) {
+                throw new UpstreamUnavailableException(CIRCUIT_OPEN_EXCEPTION_MESSAGE, Duration.between(now, retryAt));
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                throw new UpstreamUnavailableException(CIRCUIT_OPEN_EXCEPTION_MESSAGE, Duration.ZERO);
+            }
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Returns the permission of a call that ended without telling anything about GitHub's health, such as a
+     * cancelled hedge or a call rejected by the rate limiter.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.GitHubRepoExplorer.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the latencies of the most recent calls and answers percentile queries over them. The percentile is
+ * recomputed every {@code samples / 8} records, so lookups stay cheap on the hot path.
+ */
+public class LatencyTracker {
+    private static final int MINIMUM_SAMPLES = 20;
+
+    private final long[] latencies;
+    private final double percentile;
+    private final int refreshEvery;
+
+    private int next;
+    private int recorded;
+    private int sinceRefresh;
+    private long current = -1;
+
+    public LatencyTracker(int samples, double percentile) {
+        this.latencies = new long[samples];
+        this.percentile = percentile;
+        this.refreshEvery = Math.max(1, samples / 8);
+    }
+
+    public synchronized void record(Duration latency) {
+        latencies[next] = latency.toNanos();
+        next = (next + 1) % latencies.length;
+        recorded = Math.min(recorded + 1, latencies.length);
+        if (++sinceRefresh >= refreshEvery && recorded >= MINIMUM_SAMPLES) {
+            long[] sorted = Arrays.copyOf(latencies, recorded);
+            Arrays.sort(sorted);
+            current = sorted[Math.max(0, (int) Math.ceil(percentile * recorded) - 1)];
+            sinceRefresh = 0;
+        }
+    }
+
+    /**
+     * Empty until enough calls were recorded to tell a slow call from a normal one.
+     */
+    public synchronized Optional<Duration> percentile() {
+        return current < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(current));
+    }
+}
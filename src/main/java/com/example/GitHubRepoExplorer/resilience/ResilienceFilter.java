@@ -0,0 +1,146 @@
+package com.example.GitHubRepoExplorer.resilience;
+
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Guards GitHub calls once they degrade. Every attempt needs a slot in the {@link Bulkhead} and a permission from
+ * the {@link CircuitBreaker} of its endpoint type; {@code 5xx} answers and I/O errors count as failures. GETs are
+ * retried with jittered exponential backoff, and branch lookups that take longer than the tracked latency
+ * percentile can be hedged with a second request. The whole call, retries included, is bounded by {@code timeout}.
+ * Failures leave as {@link UpstreamUnavailableException}, which lets {@code GitHubResponseCache} serve stale data.
+ * <p>
+ * Registered as the outermost filter, so retries and hedges go through ETag revalidation and rate limiting again.
+ */
+public class ResilienceFilter implements ExchangeFilterFunction, MeterBinder {
+    private static final String BULKHEAD_FULL_EXCEPTION_MESSAGE = "Too many concurrent GitHub API calls";
+    private static final String UPSTREAM_FAILED_EXCEPTION_MESSAGE = "GitHub API is unavailable";
+    private static final String TIMEOUT_EXCEPTION_MESSAGE = "GitHub API did not respond in time";
+
+    private final Map<EndpointType, CircuitBreaker> circuitBreakers;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final LatencyTracker branchLatency;
+    private final boolean hedgeEnabled;
+    private final Duration hedgeMinDelay;
+    private final Duration timeout;
+
+    public ResilienceFilter(Map<EndpointType, CircuitBreaker> circuitBreakers, Bulkhead bulkhead, int maxRetries,
+                            Duration minBackoff, Duration maxBackoff, LatencyTracker branchLatency,
+                            boolean hedgeEnabled, Duration hedgeMinDelay, Duration timeout) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkhead = bulkhead;
+        this.retry = Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(this::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.branchLatency = branchLatency;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelay = hedgeMinDelay;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        EndpointType endpointType = EndpointType.fromUrl(request.url().getPath());
+        boolean idempotent = request.method() == HttpMethod.GET;
+        Mono<ClientResponse> call = Mono.defer(() -> attempt(request, next, endpointType));
+        if (idempotent && hedgeEnabled && endpointType == EndpointType.BRANCHES) {
+            call = hedge(call);
+        }
+        if (idempotent) {
+            call = call.retryWhen(retry);
+        }
+        return call
+                .onErrorMap(this::isRetryable,
+                        error -> new UpstreamUnavailableException(UPSTREAM_FAILED_EXCEPTION_MESSAGE, Duration.ZERO, error))
+                .timeout(timeout, Mono.error(() -> new UpstreamUnavailableException(TIMEOUT_EXCEPTION_MESSAGE, Duration.ZERO)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        circuitBreakers.forEach((endpointType, circuitBreaker) ->
+                Gauge.builder("github.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                        .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                        .tag("endpoint", endpointType.getTag())
+                        .register(registry));
+        Gauge.builder("github.bulkhead.in-flight", bulkhead, Bulkhead::getInFlight)
+                .description("GitHub calls awaiting a response")
+                .register(registry);
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, EndpointType endpointType) {
+        if (!bulkhead.tryAcquire()) {
+            return Mono.error(new UpstreamUnavailableException(BULKHEAD_FULL_EXCEPTION_MESSAGE, Duration.ZERO));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpointType);
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (UpstreamUnavailableException e) {
+            bulkhead.release();
+            return Mono.error(e);
+        }
+
+        // The slot and the outcome are settled once, as soon as the response headers or an error arrive
+        AtomicBoolean settled = new AtomicBoolean();
+        Consumer<Runnable> settle = outcome -> {
+            if (settled.compareAndSet(false, true)) {
+                outcome.run();
+                bulkhead.release();
+            }
+        };
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .flatMap(response -> {
+                    if (response.statusCode().is5xxServerError()) {
+                        settle.accept(circuitBreaker::onFailure);
+                        return response.releaseBody()
+                                .then(Mono.error(new UpstreamServerErrorException(response.statusCode().value())));
+                    }
+                    settle.accept(circuitBreaker::onSuccess);
+                    if (endpointType == EndpointType.BRANCHES) {
+                        branchLatency.record(Duration.ofNanos(System.nanoTime() - start));
+                    }
+                    return Mono.just(response);
+                })
+                .doOnError(error -> settle.accept(isRetryable(error) ? circuitBreaker::onFailure : circuitBreaker::onIgnored))
+                .doOnCancel(() -> settle.accept(circuitBreaker::onIgnored));
+    }
+
+    private Mono<ClientResponse> hedge(Mono<ClientResponse> call) {
+        return Mono.defer(() -> branchLatency.percentile()
+                .map(percentile -> percentile.compareTo(hedgeMinDelay) > 0 ? percentile : hedgeMinDelay)
+                .map(delay -> Mono.firstWithSignal(call, Mono.delay(delay).then(call)))
+                .orElse(call));
+    }
+
+    private boolean isRetryable(Throwable error) {
+        return error instanceof UpstreamServerErrorException
+                || error instanceof WebClientRequestException
+                || error instanceof TimeoutException;
+    }
+
+    private static class UpstreamServerErrorException extends RuntimeException {
+        UpstreamServerErrorException(int status) {
+            super("GitHub API answered " + status);
+        }
+    }
+}
@@ -1,54 +1,128 @@
 package com.example.GitHubRepoExplorer.service;
 
-import com.example.GitHubRepoExplorer.domain.Branch;
-import com.example.GitHubRepoExplorer.domain.Owner;
 import com.example.GitHubRepoExplorer.domain.Repository;
-import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
-import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
+import com.example.GitHubRepoExplorer.exception.ErrorResponse;
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import com.example.GitHubRepoExplorer.exception.UpstreamAuthenticationException;
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
 public class GitHubService {
-    private static final String USER_REPOS_URL_TEMPLATE = "/users/%s/repos";
-    private static final String EMPTY_VALUE = "";
+    private final RepositoryFetchStrategy fetchStrategy;
+    private final int batchConcurrency;
+    private final GitHubMetrics metrics;
+    private final HotUsernames hotUsernames;
 
-    private final GitHubApiClient gitHubApiClient;
-
-    public GitHubService(GitHubApiClient gitHubApiClient) {
-        this.gitHubApiClient = gitHubApiClient;
+    public GitHubService(RepositoryFetchStrategy fetchStrategy,
+                         @Value("${github.batch.concurrency}") int batchConcurrency,
+                         GitHubMetrics metrics, HotUsernames hotUsernames) {
+        this.fetchStrategy = fetchStrategy;
+        this.batchConcurrency = batchConcurrency;
+        this.metrics = metrics;
+        this.hotUsernames = hotUsernames;
     }
 
     public List<Repository> getNonForkedRepositoriesByUsername(String username, int perPage, int page) {
-        String url = String.format(USER_REPOS_URL_TEMPLATE, username);
-        List<RepositoryDTO> repositoryDTOS = fetchRepositories(url, perPage, page);
-        return repositoryDTOS.stream()
-                .filter(this::checkIfRepoIsNotForked)
-                .map(this::mapToRepository)
-                .toList();
+        return getNonForkedRepositoriesByUsername(username, perPage, page, RepositoryQuery.defaults());
     }
 
-    private boolean checkIfRepoIsNotForked(RepositoryDTO repo) {
-        return !repo.isFork();
+    public List<Repository> getNonForkedRepositoriesByUsername(String username, int perPage, int page, RepositoryQuery query) {
+        return getNonForkedRepositories(username, perPage, page, query)
+                .collectList()
+                .block();
     }
 
-    private Repository mapToRepository(RepositoryDTO repo) {
-        String repoName = repo.getName();
-        Owner owner = repo.getOwner();
-        String ownerLogin = owner.getLogin();
-        String branchesUrl = repo.getBranches_url().replace("{/branch}", EMPTY_VALUE);
+    public List<Repository> getAllNonForkedRepositoriesByUsername(String username) {
+        return getAllNonForkedRepositoriesByUsername(username, RepositoryQuery.defaults());
+    }
 
-        List<Branch> branches = getBranches(branchesUrl);
-        return new Repository(repoName, new Owner(ownerLogin), branches);
+    public List<Repository> getAllNonForkedRepositoriesByUsername(String username, RepositoryQuery query) {
+        return getAllNonForkedRepositories(username, query)
+                .collectList()
+                .block();
     }
 
-    private List<RepositoryDTO> fetchRepositories(String url, int perPage, int page) {
-        return gitHubApiClient.makeApiRequest(url, RepositoryDTO.class, perPage, page);
+    public Flux<Repository> getNonForkedRepositories(String username, int perPage, int page) {
+        return getNonForkedRepositories(username, perPage, page, RepositoryQuery.defaults());
     }
 
-    private List<Branch> getBranches(String branchesUrl) {
-        return gitHubApiClient.makeApiRequest(branchesUrl, Branch.class);
+    public Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, RepositoryQuery query) {
+        hotUsernames.record(new HotUsernames.Target(username, perPage, page, false, query));
+        return metrics.countUpstreamCalls(shape(fetchStrategy.getNonForkedRepositories(username, perPage, page, query), query));
+    }
+
+    public Flux<Repository> getAllNonForkedRepositories(String username) {
+        return getAllNonForkedRepositories(username, RepositoryQuery.defaults());
+    }
+
+    public Flux<Repository> getAllNonForkedRepositories(String username, RepositoryQuery query) {
+        hotUsernames.record(HotUsernames.Target.allPages(username, query));
+        return metrics.countUpstreamCalls(shape(fetchStrategy.getAllNonForkedRepositories(username, query), query));
+    }
+
+    /**
+     * Whether the last full listing of the user stopped at {@code github.pagination.max-pages}.
+     */
+    public boolean isListingTruncated(String username) {
+        return fetchStrategy.isTruncated(username);
+    }
+
+    public List<UserRepositories> getNonForkedRepositoriesByUsernames(List<String> usernames, int perPage, int page, boolean all) {
+        return getNonForkedRepositoriesForUsers(usernames, perPage, page, all)
+                .collectList()
+                .block();
+    }
+
+    /**
+     * Fetches several users under a single concurrency limit, in request order and without duplicates.
+     * A failing user is reported in its own entry instead of failing the batch, and identical upstream
+     * URLs requested by different users share one call through {@code GitHubResponseCache}.
+     */
+    public Flux<UserRepositories> getNonForkedRepositoriesForUsers(List<String> usernames, int perPage, int page, boolean all) {
+        return metrics.countUpstreamCalls(Flux.fromIterable(new LinkedHashSet<>(usernames))
+                .flatMapSequential(username -> (all
+                                ? getAllNonForkedRepositories(username)
+                                : getNonForkedRepositories(username, perPage, page))
+                                .collectList()
+                                .map(repositories -> new UserRepositories(username, repositories, null))
+                                .onErrorResume(error -> Mono.just(new UserRepositories(username, null, toErrorResponse(error)))),
+                        batchConcurrency));
+    }
+
+    private ErrorResponse toErrorResponse(Throwable error) {
+        HttpStatus status = switch (error) {
+            case UserNotFoundException ignored -> HttpStatus.NOT_FOUND;
+            case RateLimitExceededException ignored -> HttpStatus.SERVICE_UNAVAILABLE;
+            case UpstreamUnavailableException ignored -> HttpStatus.SERVICE_UNAVAILABLE;
+            case UpstreamAuthenticationException ignored -> HttpStatus.BAD_GATEWAY;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        return new ErrorResponse(status.value(), error.getLocalizedMessage());
+    }
+
+    private Flux<Repository> shape(Flux<Repository> repositories, RepositoryQuery query) {
+        // Sorting needs every repository, so it gives up streaming; the upstream order keeps it
+        Flux<Repository> ordered = query.sort() == RepositorySort.UPSTREAM
+                ? repositories
+                : repositories.sort(query.sort().getComparator());
+        return ordered.map(repository -> project(repository, query));
+    }
 
+    private Repository project(Repository repository, RepositoryQuery query) {
+        return new Repository(
+                query.includes(RepositoryField.NAME) ? repository.name() : null,
+                query.includes(RepositoryField.OWNER) ? repository.owner() : null,
+                query.includes(RepositoryField.BRANCHES) ? repository.branches() : null);
     }
 }
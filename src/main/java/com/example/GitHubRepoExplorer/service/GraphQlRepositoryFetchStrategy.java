@@ -0,0 +1,240 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fetches repositories through the GraphQL API. A single query returns a page of repositories together
+ * with up to 100 branch heads each, so a user costs one call per 100 repositories instead of one call
+ * per repository. Forks are fetched and dropped client side, which keeps {@code per_page}/{@code page}
+ * windows identical to the REST strategy. Branches come with the same query, so the {@link RepositoryQuery}
+ * is applied to the cached result rather than saving upstream calls.
+ */
+@Component
+@ConditionalOnProperty(name = "github.fetch-strategy", havingValue = "graphql")
+public class GraphQlRepositoryFetchStrategy implements RepositoryFetchStrategy {
+    private static final String USER_NOT_FOUND_EXCEPTION_MESSAGE = "User not found";
+    private static final String CACHE_URL_TEMPLATE = "/graphql?login=%s";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String REFS_SELECTION = """
+            refs(refPrefix: "refs/heads/", first: 100, after: $refsAfter, orderBy: {field: ALPHABETICAL, direction: ASC}) {
+              pageInfo { hasNextPage endCursor }
+              nodes { name target { oid } }
+            }""";
+
+    private static final String REPOSITORIES_QUERY = """
+            query Repositories($login: String!, $first: Int!, $after: String, $refsAfter: String) {
+              repositoryOwner(login: $login) {
+                repositories(first: $first, after: $after, ownerAffiliations: [OWNER], privacy: PUBLIC,
+                             orderBy: {field: NAME, direction: ASC}) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes {
+                    name
+                    isFork
+                    owner { login }
+                    defaultBranchRef { name }
+                    %s
+                  }
+                }
+              }
+            }""".formatted(REFS_SELECTION);
+
+    private static final String REPOSITORY_CURSOR_QUERY = """
+            query RepositoryCursor($login: String!, $first: Int!, $after: String) {
+              repositoryOwner(login: $login) {
+                repositories(first: $first, after: $after, ownerAffiliations: [OWNER], privacy: PUBLIC,
+                             orderBy: {field: NAME, direction: ASC}) {
+                  pageInfo { hasNextPage endCursor }
+                }
+              }
+            }""";
+
+    private static final String BRANCHES_QUERY = """
+            query Branches($owner: String!, $name: String!, $refsAfter: String) {
+              repository(owner: $owner, name: $name) {
+                %s
+              }
+            }""".formatted(REFS_SELECTION);
+
+    private final GitHubApiClient gitHubApiClient;
+    private final GitHubResponseCache responseCache;
+    private final int branchesConcurrency;
+    private final int maxPages;
+    private final Set<String> truncatedListings = ConcurrentHashMap.newKeySet();
+
+    public GraphQlRepositoryFetchStrategy(GitHubApiClient gitHubApiClient, GitHubResponseCache responseCache,
+                                          @Value("${github.branches.concurrency}") int branchesConcurrency,
+                                          @Value("${github.pagination.max-pages}") int maxPages) {
+        this.gitHubApiClient = gitHubApiClient;
+        this.responseCache = responseCache;
+        this.branchesConcurrency = branchesConcurrency;
+        this.maxPages = maxPages;
+    }
+
+    @Override
+    public Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, RepositoryQuery query) {
+        RequestKey key = new RequestKey(cacheUrl(username), perPage, page);
+        return responseCache.get(key, () -> cursorAfter(username, (page - 1) * perPage, null)
+                        .flatMap(after -> fetchRepositories(username, perPage, after))
+                        .flatMapMany(this::toNonForkedRepositories)
+                        .collectList()
+                        .defaultIfEmpty(List.of()))
+                .flatMapIterable(repositories -> repositories)
+                .concatMap(repository -> select(repository, query));
+    }
+
+    @Override
+    public Flux<Repository> getAllNonForkedRepositories(String username, RepositoryQuery query) {
+        String url = cacheUrl(username);
+        RequestKey key = RequestKey.allPages(url);
+        return responseCache.get(key, () -> {
+                    AtomicBoolean hasNextPage = new AtomicBoolean();
+                    return fetchRepositories(username, MAX_PAGE_SIZE, null)
+                            .expand(connection -> connection.hasNextPage()
+                                    ? fetchRepositories(username, MAX_PAGE_SIZE, connection.endCursor())
+                                    : Mono.empty())
+                            .take(maxPages)
+                            .doOnNext(connection -> hasNextPage.set(connection.hasNextPage()))
+                            .concatMap(this::toNonForkedRepositories)
+                            .collectList()
+                            .doOnNext(repositories -> {
+                                if (hasNextPage.get()) {
+                                    truncatedListings.add(url);
+                                } else {
+                                    truncatedListings.remove(url);
+                                }
+                            });
+                })
+                .flatMapIterable(repositories -> repositories)
+                .concatMap(repository -> select(repository, query));
+    }
+
+    @Override
+    public boolean isTruncated(String username) {
+        return truncatedListings.contains(cacheUrl(username));
+    }
+
+    private Mono<Repository> select(GraphQlRepository repository, RepositoryQuery query) {
+        if (!query.matchesName(repository.name())) {
+            return Mono.empty();
+        }
+        List<Branch> branches = null;
+        if (query.includes(RepositoryField.BRANCHES)) {
+            String branchName = query.defaultBranch() ? repository.defaultBranch() : query.branch();
+            branches = query.allBranches()
+                    ? repository.branches()
+                    : repository.branches().stream().filter(branch -> branch.name().equals(branchName)).toList();
+        }
+        return Mono.just(new Repository(repository.name(), Owner.of(repository.owner()), branches));
+    }
+
+    private Flux<GraphQlRepository> toNonForkedRepositories(Connection repositories) {
+        return Flux.fromIterable(repositories.nodes())
+                .filter(node -> !node.path("isFork").asBoolean())
+                .flatMapSequential(this::mapToRepository, branchesConcurrency);
+    }
+
+    private Mono<GraphQlRepository> mapToRepository(JsonNode node) {
+        String repoName = node.path("name").asText();
+        String ownerLogin = node.path("owner").path("login").asText();
+        String defaultBranch = node.path("defaultBranchRef").path("name").asText(null);
+        Connection firstRefs = Connection.of(node.path("refs"));
+
+        return Flux.just(firstRefs)
+                .expand(refs -> refs.hasNextPage()
+                        ? fetchBranches(ownerLogin, repoName, refs.endCursor())
+                        : Mono.empty())
+                .take(maxPages)
+                .concatMapIterable(Connection::nodes)
+                .map(this::mapToBranch)
+                .collectList()
+                .map(branches -> new GraphQlRepository(repoName, ownerLogin, defaultBranch, branches));
+    }
+
+    private Branch mapToBranch(JsonNode ref) {
+        return new Branch(ref.path("name").asText(), new Commit(ref.path("target").path("oid").asText()));
+    }
+
+    /**
+     * Walks the repository connection with cheap cursor only queries until {@code skip} repositories are
+     * behind the cursor. Completes empty when the requested page starts past the last repository.
+     */
+    private Mono<String> cursorAfter(String username, int skip, String after) {
+        if (skip == 0) {
+            return Mono.justOrEmpty(after).defaultIfEmpty("");
+        }
+        int first = Math.min(MAX_PAGE_SIZE, skip);
+        return gitHubApiClient.postGraphQl("RepositoryCursor", REPOSITORY_CURSOR_QUERY, variables(username, first, after))
+                .map(this::repositories)
+                .flatMap(connection -> connection.hasNextPage()
+                        ? cursorAfter(username, skip - first, connection.endCursor())
+                        : Mono.empty());
+    }
+
+    private Mono<Connection> fetchRepositories(String username, int first, String after) {
+        return gitHubApiClient.postGraphQl("Repositories", REPOSITORIES_QUERY, variables(username, first, after))
+                .map(this::repositories);
+    }
+
+    private Mono<Connection> fetchBranches(String owner, String name, String refsAfter) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("owner", owner);
+        variables.put("name", name);
+        variables.put("refsAfter", refsAfter);
+        return gitHubApiClient.postGraphQl("Branches", BRANCHES_QUERY, variables)
+                .map(data -> Connection.of(data.path("repository").path("refs")));
+    }
+
+    private Connection repositories(JsonNode data) {
+        JsonNode owner = data.path("repositoryOwner");
+        if (owner.isMissingNode() || owner.isNull()) {
+            throw new UserNotFoundException(USER_NOT_FOUND_EXCEPTION_MESSAGE);
+        }
+        return Connection.of(owner.path("repositories"));
+    }
+
+    private Map<String, Object> variables(String username, int first, String after) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("login", username);
+        variables.put("first", first);
+        variables.put("after", after == null || after.isEmpty() ? null : after);
+        return variables;
+    }
+
+    private String cacheUrl(String username) {
+        return String.format(CACHE_URL_TEMPLATE, username);
+    }
+
+    private record GraphQlRepository(String name, String owner, String defaultBranch, List<Branch> branches) {
+    }
+
+    private record Connection(List<JsonNode> nodes, boolean hasNextPage, String endCursor) {
+        static Connection of(JsonNode connection) {
+            List<JsonNode> nodes = new ArrayList<>();
+            connection.path("nodes").forEach(nodes::add);
+            JsonNode pageInfo = connection.path("pageInfo");
+            return new Connection(nodes, pageInfo.path("hasNextPage").asBoolean(), pageInfo.path("endCursor").asText(null));
+        }
+    }
+}
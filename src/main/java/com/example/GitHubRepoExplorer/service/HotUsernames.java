@@ -0,0 +1,115 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.cache.CountMinSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks how often each username, page and query is requested. Frequencies come from a {@link CountMinSketch}, and up to
+ * {@code capacity} frequent targets are kept as candidates for refresh-ahead warming. A new target replaces the
+ * least frequent of a random sample of candidates once it is requested more often, so recording stays constant
+ * time however many users are tracked. Nothing is recorded while warming is disabled.
+ */
+@Component
+public class HotUsernames {
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final List<Target> candidates = new ArrayList<>();
+    private final Set<Target> tracked = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public HotUsernames(@Value("${github.warming.enabled}") boolean enabled,
+                        @Value("${github.warming.tracked-users}") int capacity) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(capacity);
+    }
+
+    public void record(Target target) {
+        if (!enabled) {
+            return;
+        }
+        int frequency = sketch.increment(target);
+        // Most requests are for targets that are already candidates, those never take the lock
+        if (tracked.contains(target)) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (tracked.contains(target)) {
+                return;
+            }
+            if (candidates.size() < capacity) {
+                tracked.add(target);
+                candidates.add(target);
+                return;
+            }
+            int coldest = coldestSampled();
+            if (frequency > sketch.estimate(candidates.get(coldest))) {
+                tracked.remove(candidates.set(coldest, target));
+                tracked.add(target);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Candidates requested at least {@code minimumFrequency} times recently, most frequent first.
+     */
+    public List<Target> hottest(int minimumFrequency) {
+        List<Target> snapshot;
+        lock.lock();
+        try {
+            snapshot = List.copyOf(candidates);
+        } finally {
+            lock.unlock();
+        }
+        return snapshot.stream()
+                .map(target -> Map.entry(target, sketch.estimate(target)))
+                .filter(candidate -> candidate.getValue() >= minimumFrequency)
+                .sorted(Map.Entry.<Target, Integer>comparingByValue(Comparator.reverseOrder()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private int coldestSampled() {
+        // Small candidate sets are scanned in full, larger ones sampled the way Caffeine and Redis pick victims
+        int size = candidates.size();
+        boolean sampled = size > EVICTION_SAMPLE_SIZE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int coldest = -1;
+        int coldestFrequency = 0;
+        for (int i = 0; i < Math.min(size, EVICTION_SAMPLE_SIZE); i++) {
+            int position = sampled ? random.nextInt(size) : i;
+            int frequency = sketch.estimate(candidates.get(position));
+            if (coldest < 0 || frequency < coldestFrequency) {
+                coldest = position;
+                coldestFrequency = frequency;
+            }
+        }
+        return coldest;
+    }
+
+    /**
+     * A requested page or full listing together with the query it was requested with, so warming repeats exactly
+     * the upstream calls that real traffic makes.
+     */
+    public record Target(String username, int perPage, int page, boolean all, RepositoryQuery query) {
+        public static Target allPages(String username, RepositoryQuery query) {
+            return new Target(username, 0, 0, true, query);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.ratelimit.RequestPriority;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reloads the cache entries of frequently requested users shortly before they expire, so their requests keep
+ * hitting warm data. Every {@code github.warming.interval} the hottest targets from {@link HotUsernames} are fetched
+ * again, with the query they were requested with and {@link GitHubResponseCache#REFRESH_AHEAD_CONTEXT_KEY}. Entries
+ * that do not expire within {@code github.warming.refresh-ahead} are served from cache and cost nothing, and a
+ * user who only asks for names or the default branch never has full branch lists fetched on their behalf.
+ * <p>
+ * Warming runs at {@link RequestPriority#LOW}, so it is shed once quota falls to the low priority reserve, and a
+ * round stops starting new users once it used {@code github.warming.budget-share} of the GitHub quota the tokens
+ * can spend per interval, see {@link TokenPool#sustainableCalls}. A round that overshoots, because a user cost more
+ * calls than were left, takes the excess out of the next round.
+ */
+@Component
+@ConditionalOnProperty(name = "github.warming.enabled", havingValue = "true")
+public class RefreshAheadWarmer implements SchedulingConfigurer {
+    private final RepositoryFetchStrategy fetchStrategy;
+    private final HotUsernames hotUsernames;
+    private final GitHubMetrics metrics;
+    private final boolean cacheEnabled;
+    private final Duration interval;
+    private final Duration refreshAhead;
+    private final int minimumFrequency;
+    private final double budgetShare;
+    private final TokenPool tokenPool;
+    private int overspent;
+
+    public RefreshAheadWarmer(RepositoryFetchStrategy fetchStrategy, HotUsernames hotUsernames, GitHubMetrics metrics,
+                              TokenPool tokenPool,
+                              @Value("${github.cache.enabled}") boolean cacheEnabled,
+                              @Value("${github.warming.interval}") Duration interval,
+                              @Value("${github.warming.refresh-ahead}") Duration refreshAhead,
+                              @Value("${github.warming.minimum-frequency}") int minimumFrequency,
+                              @Value("${github.warming.budget-share}") double budgetShare) {
+        this.fetchStrategy = fetchStrategy;
+        this.hotUsernames = hotUsernames;
+        this.metrics = metrics;
+        this.cacheEnabled = cacheEnabled;
+        this.interval = interval;
+        this.refreshAhead = refreshAhead;
+        this.minimumFrequency = minimumFrequency;
+        this.budgetShare = budgetShare;
+        this.tokenPool = tokenPool;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::warm, interval, interval));
+    }
+
+    /**
+     * Runs one warming round and returns the number of upstream calls it made.
+     */
+    public int warm() {
+        if (!cacheEnabled) {
+            return 0;
+        }
+        int callsPerRound = (int) (budgetShare * tokenPool.sustainableCalls(interval)) - overspent;
+        AtomicInteger calls = new AtomicInteger();
+        Flux<HotUsernames.Target> targets = Flux.fromIterable(hotUsernames.hottest(minimumFrequency))
+                .takeWhile(target -> calls.get() < callsPerRound)
+                .concatMap(target -> warm(target).thenReturn(target));
+        metrics.trackUpstreamCalls(targets, calls)
+                .contextWrite(Context.of(
+                        RequestPriority.CONTEXT_KEY, RequestPriority.LOW,
+                        GitHubResponseCache.REFRESH_AHEAD_CONTEXT_KEY, refreshAhead))
+                .blockLast();
+        overspent = Math.max(0, calls.get() - callsPerRound);
+        return calls.get();
+    }
+
+    private Mono<Void> warm(HotUsernames.Target target) {
+        Flux<?> repositories = target.all()
+                ? fetchStrategy.getAllNonForkedRepositories(target.username(), target.query())
+                : fetchStrategy.getNonForkedRepositories(target.username(), target.perPage(), target.page(), target.query());
+        // A failed refresh leaves the current entry in place until it expires
+        return repositories.then().onErrorResume(error -> Mono.empty());
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.RepositoryChange;
+import com.example.GitHubRepoExplorer.domain.RepositoryChanges;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers "what changed since my last poll" for sync clients. Every call fetches all repositories of the user
+ * and reduces them to a snapshot of (repository, branch, head) entries, with each head stored as a 64 bit
+ * prefix of the commit SHA instead of the repositories themselves. The cursor is a hash of that snapshot, so
+ * an unchanged user keeps the same cursor. The last {@code snapshots-per-user} snapshots of
+ * {@code tracked-users} users are kept; a cursor that is no longer known gets the complete list, flagged with
+ * {@code complete}, exactly like a first call without cursor.
+ * <p>
+ * A listing that stopped at {@code github.pagination.max-pages} marks its snapshot truncated. Repositories missing
+ * from such a snapshot may just lie beyond the cap, so no removals are reported while either side is truncated.
+ */
+@Service
+public class RepositoryChangeTracker {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int SHA_PREFIX_LENGTH = 16;
+
+    private final GitHubService gitHubService;
+    private final int snapshotsPerUser;
+    private final Cache<String, Deque<Snapshot>> snapshots;
+
+    public RepositoryChangeTracker(GitHubService gitHubService,
+                                   @Value("${github.delta.tracked-users}") long trackedUsers,
+                                   @Value("${github.delta.snapshots-per-user}") int snapshotsPerUser,
+                                   @Value("${github.delta.retention}") Duration retention) {
+        this.gitHubService = gitHubService;
+        this.snapshotsPerUser = snapshotsPerUser;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(trackedUsers)
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    public RepositoryChanges getChangesByUsername(String username, String since) {
+        return getChanges(username, since).block();
+    }
+
+    public Mono<RepositoryChanges> getChanges(String username, String since) {
+        return gitHubService.getAllNonForkedRepositories(username)
+                .collectList()
+                .map(repositories -> {
+                    Snapshot current = Snapshot.of(repositories, gitHubService.isListingTruncated(username));
+                    Snapshot previous = record(username, current, since);
+                    return previous == null
+                            ? new RepositoryChanges(current.cursor(), true, repositories, List.of(), List.of(),
+                                    current.truncated())
+                            : diff(previous, current, repositories);
+                });
+    }
+
+    /**
+     * Stores {@code current} as the most recent snapshot of the user and returns the one {@code since} refers to.
+     */
+    private Snapshot record(String username, Snapshot current, String since) {
+        Deque<Snapshot> history = snapshots.get(username.toLowerCase(Locale.ROOT), key -> new ArrayDeque<>());
+        synchronized (history) {
+            Snapshot previous = since == null ? null : history.stream()
+                    .filter(snapshot -> snapshot.cursor().equals(since))
+                    .findFirst()
+                    .orElse(null);
+            history.removeIf(snapshot -> snapshot.cursor().equals(current.cursor()));
+            history.addFirst(current);
+            while (history.size() > snapshotsPerUser) {
+                history.removeLast();
+            }
+            return previous;
+        }
+    }
+
+    private RepositoryChanges diff(Snapshot previous, Snapshot current, List<Repository> repositories) {
+        List<Repository> added = new ArrayList<>();
+        List<RepositoryChange> changed = new ArrayList<>();
+        if (previous.hash() != current.hash()) {
+            for (Repository repository : repositories) {
+                RepositoryDigest before = previous.repositories().get(repository.name());
+                if (before == null) {
+                    added.add(repository);
+                } else if (before.hash() != current.repositories().get(repository.name()).hash()) {
+                    changed.add(diff(before, repository));
+                }
+            }
+        }
+        boolean truncated = previous.truncated() || current.truncated();
+        List<String> removed = previous.hash() == current.hash() || truncated ? List.<String>of() : previous.repositories()
+                .keySet().stream()
+                .filter(name -> !current.repositories().containsKey(name))
+                .sorted()
+                .toList();
+        return new RepositoryChanges(current.cursor(), false, added, changed, removed, truncated);
+    }
+
+    private RepositoryChange diff(RepositoryDigest before, Repository repository) {
+        Map<String, Long> heads = new HashMap<>(before.branches().length * 2);
+        for (int i = 0; i < before.branches().length; i++) {
+            heads.put(before.branches()[i], before.heads()[i]);
+        }
+        List<Branch> branches = new ArrayList<>();
+        for (Branch branch : repository.branches() == null ? List.<Branch>of() : repository.branches()) {
+            Long head = heads.remove(branch.name());
+            if (head == null || head != head(branch)) {
+                branches.add(branch);
+            }
+        }
+        List<String> removedBranches = heads.keySet().stream().sorted().toList();
+        return new RepositoryChange(repository.name(), repository.owner(), branches, removedBranches);
+    }
+
+    private static long head(Branch branch) {
+        String sha = branch.commit() == null ? null : branch.commit().sha();
+        if (sha == null) {
+            return 0;
+        }
+        // A SHA is already uniformly distributed, its first 64 bits are a good enough fingerprint
+        if (sha.length() >= SHA_PREFIX_LENGTH) {
+            try {
+                return Long.parseUnsignedLong(sha, 0, SHA_PREFIX_LENGTH, 16);
+            } catch (NumberFormatException e) {
+                // Not hex, hashed below
+            }
+        }
+        return mix(FNV_OFFSET_BASIS, sha);
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private record Snapshot(long hash, Map<String, RepositoryDigest> repositories, boolean truncated) {
+        static Snapshot of(List<Repository> repositories, boolean truncated) {
+            Map<String, RepositoryDigest> digests = new HashMap<>(repositories.size() * 2);
+            for (Repository repository : repositories) {
+                digests.put(repository.name(), RepositoryDigest.of(repository));
+            }
+            long hash = FNV_OFFSET_BASIS;
+            for (String name : digests.keySet().stream().sorted().toList()) {
+                hash = mix(mix(hash, name), digests.get(name).hash());
+            }
+            return new Snapshot(hash, digests, truncated);
+        }
+
+        String cursor() {
+            return HexFormat.of().toHexDigits(hash);
+        }
+    }
+
+    /**
+     * Branch names sorted, with the head of each branch at the same index.
+     */
+    private record RepositoryDigest(long hash, String[] branches, long[] heads) {
+        static RepositoryDigest of(Repository repository) {
+            List<Branch> sorted = repository.branches() == null ? List.of() : repository.branches().stream()
+                    .sorted(Comparator.comparing(Branch::name))
+                    .toList();
+            String[] branches = new String[sorted.size()];
+            long[] heads = new long[sorted.size()];
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = 0; i < branches.length; i++) {
+                branches[i] = sorted.get(i).name();
+                heads[i] = head(sorted.get(i));
+                hash = mix(mix(hash, branches[i]), heads[i]);
+            }
+            return new RepositoryDigest(hash, branches, heads);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.domain.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Source of non forked repositories with their branches. The implementation is selected with
+ * {@code github.fetch-strategy}. Implementations apply the name filter and branch selection of the
+ * {@link RepositoryQuery}, sorting and field projection are left to {@link GitHubService}.
+ */
+public interface RepositoryFetchStrategy {
+    Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, RepositoryQuery query);
+
+    Flux<Repository> getAllNonForkedRepositories(String username, RepositoryQuery query);
+
+    /**
+     * Whether the last full listing of the user stopped at {@code github.pagination.max-pages}, so repositories
+     * beyond the cap are missing from it.
+     */
+    boolean isTruncated(String username);
+}
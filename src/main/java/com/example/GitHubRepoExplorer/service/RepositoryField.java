@@ -0,0 +1,22 @@
+package com.example.GitHubRepoExplorer.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum RepositoryField {
+    NAME("name"),
+    OWNER("owner"),
+    BRANCHES("branches");
+
+    private final String parameter;
+
+    RepositoryField(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static Optional<RepositoryField> fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(field -> field.parameter.equalsIgnoreCase(value.trim()))
+                .findFirst();
+    }
+}
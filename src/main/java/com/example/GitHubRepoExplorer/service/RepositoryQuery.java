@@ -0,0 +1,35 @@
+package com.example.GitHubRepoExplorer.service;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Server side shaping of a repository listing. {@code branch} is {@value #ALL_BRANCHES}, {@value #DEFAULT_BRANCH}
+ * or the name of a single branch, and branches are only fetched when {@code fields} asks for them.
+ * {@code nameFilter} is a case-insensitive substring match applied before any branch lookup.
+ */
+public record RepositoryQuery(Set<RepositoryField> fields, String branch, String nameFilter, RepositorySort sort) {
+    public static final String ALL_BRANCHES = "all";
+    public static final String DEFAULT_BRANCH = "default";
+
+    public static RepositoryQuery defaults() {
+        return new RepositoryQuery(EnumSet.allOf(RepositoryField.class), ALL_BRANCHES, null, RepositorySort.UPSTREAM);
+    }
+
+    public boolean includes(RepositoryField field) {
+        return fields.contains(field);
+    }
+
+    public boolean allBranches() {
+        return ALL_BRANCHES.equals(branch);
+    }
+
+    public boolean defaultBranch() {
+        return DEFAULT_BRANCH.equals(branch);
+    }
+
+    public boolean matchesName(String name) {
+        return nameFilter == null || name.toLowerCase(Locale.ROOT).contains(nameFilter.toLowerCase(Locale.ROOT));
+    }
+}
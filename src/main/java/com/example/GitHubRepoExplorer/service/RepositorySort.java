@@ -0,0 +1,21 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.domain.Repository;
+
+import java.util.Comparator;
+
+public enum RepositorySort {
+    UPSTREAM(null),
+    NAME_ASC(Comparator.comparing(Repository::name, String.CASE_INSENSITIVE_ORDER)),
+    NAME_DESC(Comparator.comparing(Repository::name, String.CASE_INSENSITIVE_ORDER).reversed());
+
+    private final Comparator<Repository> comparator;
+
+    RepositorySort(Comparator<Repository> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<Repository> getComparator() {
+        return comparator;
+    }
+}
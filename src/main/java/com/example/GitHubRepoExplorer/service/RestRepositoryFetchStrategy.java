@@ -0,0 +1,105 @@
+package com.example.GitHubRepoExplorer.service;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Fetches repositories through the REST API: one {@code /users/{username}/repos} call plus one
+ * {@code branches_url} call per non forked repository. Only the selected branch is fetched for
+ * {@code branch=default} or a named branch, and no branch call is made when branches are not requested.
+ */
+@Component
+@ConditionalOnProperty(name = "github.fetch-strategy", havingValue = "rest", matchIfMissing = true)
+public class RestRepositoryFetchStrategy implements RepositoryFetchStrategy {
+    private static final String USER_REPOS_URL_TEMPLATE = "/users/%s/repos";
+    private static final String EMPTY_VALUE = "";
+    private static final String BRANCH_URL_FORMAT = "%s/%s";
+
+    private final GitHubApiClient gitHubApiClient;
+    private final int branchesConcurrency;
+
+    public RestRepositoryFetchStrategy(GitHubApiClient gitHubApiClient,
+                                       @Value("${github.branches.concurrency}") int branchesConcurrency) {
+        this.gitHubApiClient = gitHubApiClient;
+        this.branchesConcurrency = branchesConcurrency;
+    }
+
+    @Override
+    public Flux<Repository> getNonForkedRepositories(String username, int perPage, int page, RepositoryQuery query) {
+        String url = String.format(USER_REPOS_URL_TEMPLATE, username);
+        return toNonForkedRepositories(fetchRepositories(url, perPage, page), query);
+    }
+
+    @Override
+    public Flux<Repository> getAllNonForkedRepositories(String username, RepositoryQuery query) {
+        String url = String.format(USER_REPOS_URL_TEMPLATE, username);
+        return toNonForkedRepositories(gitHubApiClient.fetchAllAsync(url, RepositoryDTO.class), query);
+    }
+
+    @Override
+    public boolean isTruncated(String username) {
+        return gitHubApiClient.isTruncated(String.format(USER_REPOS_URL_TEMPLATE, username));
+    }
+
+    private Flux<Repository> toNonForkedRepositories(Mono<List<RepositoryDTO>> repositoryDTOS, RepositoryQuery query) {
+        // Branch lookups run concurrently up to the configured limit, results keep the upstream order
+        return repositoryDTOS
+                .flatMapIterable(repos -> repos)
+                .filter(this::checkIfRepoIsNotForked)
+                .filter(repo -> query.matchesName(repo.getName()))
+                .flatMapSequential(repo -> mapToRepository(repo, query), branchesConcurrency);
+    }
+
+    private boolean checkIfRepoIsNotForked(RepositoryDTO repo) {
+        return !repo.isFork();
+    }
+
+    private Mono<Repository> mapToRepository(RepositoryDTO repo, RepositoryQuery query) {
+        String repoName = repo.getName();
+        // Decoded owners are shared per login, every repository of the user references the same instance
+        Owner owner = repo.getOwner();
+        if (!query.includes(RepositoryField.BRANCHES)) {
+            return Mono.just(new Repository(repoName, owner, null));
+        }
+        String branchesUrl = repo.getBranches_url().replace("{/branch}", EMPTY_VALUE);
+
+        return getBranches(branchesUrl, repo, query)
+                .map(branches -> new Repository(repoName, owner, branches));
+    }
+
+    private Mono<List<Branch>> getBranches(String branchesUrl, RepositoryDTO repo, RepositoryQuery query) {
+        if (query.allBranches()) {
+            return getBranches(branchesUrl);
+        }
+        String branchName = query.defaultBranch() ? repo.getDefault_branch() : query.branch();
+        if (branchName == null) {
+            return Mono.just(List.of());
+        }
+        // The branch is user input and may contain '/', it must stay a single path segment of the upstream URL
+        String branchUrl = String.format(BRANCH_URL_FORMAT, branchesUrl, UriUtils.encodePathSegment(branchName, StandardCharsets.UTF_8));
+        // A repository without the requested branch answers 404, which only means there is nothing to return
+        return gitHubApiClient.makeApiRequestAsync(branchUrl, Branch.class)
+                .onErrorResume(UserNotFoundException.class, e -> Mono.just(List.of()));
+    }
+
+    private Mono<List<RepositoryDTO>> fetchRepositories(String url, int perPage, int page) {
+        return gitHubApiClient.makeApiRequestAsync(url, RepositoryDTO.class, perPage, page);
+    }
+
+    private Mono<List<Branch>> getBranches(String branchesUrl) {
+        return gitHubApiClient.fetchAllAsync(branchesUrl, Branch.class);
+    }
+}
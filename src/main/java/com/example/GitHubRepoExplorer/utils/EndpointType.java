@@ -0,0 +1,30 @@
+package com.example.GitHubRepoExplorer.utils;
+
+public enum EndpointType {
+    REPOSITORIES("repos"),
+    BRANCHES("branches"),
+    GRAPHQL("graphql");
+
+    private static final String BRANCHES_PATH_SUFFIX = "/branches";
+    private static final String BRANCH_PATH_SEGMENT = "/branches/";
+    private static final String GRAPHQL_PATH_SUFFIX = "/graphql";
+
+    private final String tag;
+
+    EndpointType(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public static EndpointType fromUrl(String url) {
+        int queryStart = url.indexOf('?');
+        String path = queryStart < 0 ? url : url.substring(0, queryStart);
+        if (path.endsWith(GRAPHQL_PATH_SUFFIX)) {
+            return GRAPHQL;
+        }
+        return path.endsWith(BRANCHES_PATH_SUFFIX) || path.contains(BRANCH_PATH_SEGMENT) ? BRANCHES : REPOSITORIES;
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.GitHubRepoExplorer.utils;
 
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
 import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -8,52 +12,176 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class GitHubApiClient {
     private static final String USER_NOT_FOUND_EXCEPTION_MESSAGE = "User not found";
     private static final String headerValue = "application/vnd.github.v3+json";
+    private static final String GRAPHQL_URL = "/graphql";
+    private static final String GRAPHQL_NOT_FOUND = "NOT_FOUND";
     private static final String PAGINATED_URL_FORMAT = "%s?per_page=%d&page=%d";
+    private static final int MAX_PER_PAGE = 100;
+    private static final int FIRST_PAGE = 1;
 
     private final WebClient webClient;
-    private final String authToken;
+    private final GitHubResponseCache responseCache;
+    private final SharedCacheLoader sharedCacheLoader;
+    private final int maxPages;
+    private final int pageConcurrency;
+    private final Set<String> truncatedListings = ConcurrentHashMap.newKeySet();
 
-    public GitHubApiClient(WebClient webClient, @Value("${github.token}") String authToken) {
+    public GitHubApiClient(WebClient webClient, GitHubResponseCache responseCache, SharedCacheLoader sharedCacheLoader,
+                           @Value("${github.pagination.max-pages}") int maxPages,
+                           @Value("${github.pagination.concurrency}") int pageConcurrency) {
         this.webClient = webClient;
-        this.authToken = authToken;
+        this.responseCache = responseCache;
+        this.sharedCacheLoader = sharedCacheLoader;
+        this.maxPages = maxPages;
+        this.pageConcurrency = pageConcurrency;
     }
 
     public <T> List<T> makeApiRequest(String url, Class<T> responseType) {
-        return webClient.get()
-                .uri(url)
+        return makeApiRequestAsync(url, responseType).block();
+    }
+
+    public <T> List<T> makeApiRequest(String url, Class<T> responseType, int perPage, int page) {
+        return makeApiRequestAsync(url, responseType, perPage, page).block();
+    }
+
+    public <T> Mono<List<T>> makeApiRequestAsync(String url, Class<T> responseType) {
+        RequestKey key = new RequestKey(url);
+        return responseCache.get(key, () -> sharedCacheLoader.load(key, responseType, () -> fetch(url, responseType)));
+    }
+
+    public <T> Mono<List<T>> makeApiRequestAsync(String url, Class<T> responseType, int perPage, int page) {
+        String paginatedUrl = String.format(PAGINATED_URL_FORMAT, url, perPage, page);
+        RequestKey key = new RequestKey(url, perPage, page);
+        return responseCache.get(key, () -> sharedCacheLoader.load(key, responseType, () -> fetch(paginatedUrl, responseType)));
+    }
+
+    public <T> List<T> fetchAll(String url, Class<T> responseType) {
+        return fetchAllAsync(url, responseType).block();
+    }
+
+    /**
+     * Fetches every page of a list endpoint, up to the configured page cap. Once the first page reveals
+     * the last page number through the {@code Link} header, the remaining pages are requested in parallel.
+     */
+    public <T> Mono<List<T>> fetchAllAsync(String url, Class<T> responseType) {
+        RequestKey key = RequestKey.allPages(url);
+        return responseCache.get(key, () -> sharedCacheLoader.load(key, responseType, () -> fetchAllPages(url, responseType)));
+    }
+
+    /**
+     * Whether the last listing of {@code url} loaded by {@link #fetchAllAsync} stopped at the page cap while GitHub
+     * still had more pages. Listings served from the cache keep the flag of the load that produced them.
+     */
+    public boolean isTruncated(String url) {
+        return truncatedListings.contains(url);
+    }
+
+    /**
+     * Runs a GraphQL operation and returns its {@code data} object. A {@code NOT_FOUND} error is reported
+     * as {@link UserNotFoundException}, any other GraphQL error fails the returned {@link Mono}.
+     */
+    public Mono<JsonNode> postGraphQl(String operationName, String query, Map<String, Object> variables) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("operationName", operationName);
+        body.put("query", query);
+        body.put("variables", variables);
+        return webClient.post()
+                .uri(GRAPHQL_URL)
                 .headers(this::setHeaders)
+                .bodyValue(body)
                 .retrieve()
                 .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
-                .bodyToFlux(responseType)
+                .bodyToMono(JsonNode.class)
+                .flatMap(this::graphQlData);
+    }
+
+    private Mono<JsonNode> graphQlData(JsonNode response) {
+        JsonNode errors = response.path("errors");
+        if (errors.isEmpty()) {
+            return Mono.just(response.path("data"));
+        }
+        for (JsonNode error : errors) {
+            if (GRAPHQL_NOT_FOUND.equals(error.path("type").asText())) {
+                return Mono.error(new UserNotFoundException(USER_NOT_FOUND_EXCEPTION_MESSAGE));
+            }
+        }
+        return Mono.error(new IllegalStateException("GitHub GraphQL error: " + errors.get(0).path("message").asText()));
+    }
+
+    private <T> Mono<List<T>> fetchAllPages(String url, Class<T> responseType) {
+        return fetchPage(pageUrl(url, FIRST_PAGE), responseType)
+                .flatMapMany(firstPage -> {
+                    OptionalInt lastPage = firstPage.links().lastPage();
+                    if (lastPage.isPresent()) {
+                        int pages = Math.min(lastPage.getAsInt(), maxPages);
+                        return Flux.range(FIRST_PAGE + 1, Math.max(0, pages - FIRST_PAGE))
+                                .flatMapSequential(page -> fetchPage(pageUrl(url, page), responseType), pageConcurrency)
+                                .startWith(firstPage);
+                    }
+                    return Flux.just(firstPage)
+                            .expand(page -> page.links().next()
+                                    .map(next -> fetchPage(next, responseType))
+                                    .orElse(Mono.empty()))
+                            .take(maxPages);
+                })
                 .collectList()
-                .block();
+                .map(pages -> {
+                    // Pages are fetched in order, so only the last one can still point further
+                    if (pages.getLast().links().next().isPresent()) {
+                        truncatedListings.add(url);
+                    } else {
+                        truncatedListings.remove(url);
+                    }
+                    return pages.stream().flatMap(page -> page.items().stream()).toList();
+                });
     }
 
-    public <T> List<T> makeApiRequest(String url, Class<T> responseType, int perPage, int page) {
-        String paginatedUrl = String.format(PAGINATED_URL_FORMAT, url, perPage, page);
-        return webClient.get()
-                .uri(paginatedUrl)
+    private <T> Mono<Page<T>> fetchPage(String url, Class<T> responseType) {
+        return get(url)
+                .headers(this::setHeaders)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
+                .toEntityList(responseType)
+                .map(entity -> new Page<>(entity.getBody(), LinkHeader.parse(entity.getHeaders().getFirst(HttpHeaders.LINK))));
+    }
+
+    private WebClient.RequestHeadersSpec<?> get(String url) {
+        // Absolute URLs come from GitHub or carry already encoded segments, expanding them as templates would encode them twice
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            return webClient.get().uri(URI.create(url));
+        }
+        return webClient.get().uri(url);
+    }
+
+    private String pageUrl(String url, int page) {
+        return String.format(PAGINATED_URL_FORMAT, url, MAX_PER_PAGE, page);
+    }
+
+    private <T> Mono<List<T>> fetch(String url, Class<T> responseType) {
+        return get(url)
                 .headers(this::setHeaders)
                 .retrieve()
                 .onStatus(HttpStatusCode::isError, this::handleErrorResponse)
                 .bodyToFlux(responseType)
-                .collectList()
-                .block();
+                .collectList();
     }
 
     private void setHeaders(HttpHeaders headers) {
         headers.set(HttpHeaders.ACCEPT, headerValue);
-        if (!authToken.isEmpty()) {
-            headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + authToken);
-        }
     }
 
     private Mono<? extends Throwable> handleErrorResponse(ClientResponse clientResponse) {
@@ -62,4 +190,7 @@ public class GitHubApiClient {
         }
         return clientResponse.createException();
     }
+
+    private record Page<T>(List<T> items, LinkHeader links) {
+    }
 }
@@ -0,0 +1,294 @@
+package com.example.GitHubRepoExplorer.utils;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Streaming decoder for the two REST payloads the client reads, {@link RepositoryDTO} and {@link Branch} lists.
+ * GitHub sends some 90 fields per repository and a full commit per single branch, of which only a handful are
+ * used. Instead of collecting every token of an element and binding it afterwards, as {@code Jackson2JsonDecoder}
+ * does, buffers are fed to a non-blocking parser as they arrive and unused fields are skipped token by token
+ * without reading their values. Forked repositories are dropped before an object is built for them, so they
+ * never reach the cache.
+ * <p>
+ * Other types are left to the default Jackson decoder. {@code maxInMemorySize} caps the bytes of a single element.
+ */
+public class GitHubJsonDecoder extends AbstractDecoder<Object> {
+    private static final int MAX_LEVEL = 2;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int maxInMemorySize;
+
+    public GitHubJsonDecoder(int maxInMemorySize) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (type == RepositoryDTO.class || type == Branch.class) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        Supplier<ElementReader> reader = elementType.toClass() == RepositoryDTO.class ? RepositoryReader::new : BranchReader::new;
+        return Flux.defer(() -> {
+            Scanner scanner = new Scanner(reader.get());
+            return Flux.from(input)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatMapIterable(scanner::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(scanner.endOfInput())));
+        });
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+                                     @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        return decode(input, elementType, mimeType, hints).singleOrEmpty();
+    }
+
+    /**
+     * Walks the token stream of a top level array of objects, or of a single object, and hands the values of
+     * wanted fields up to {@link #MAX_LEVEL} levels deep to an {@link ElementReader}. Anything else is skipped
+     * by counting nesting depth.
+     */
+    private final class Scanner {
+        private final ElementReader reader;
+        private final String[] path = new String[MAX_LEVEL];
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+
+        private int depth;
+        private int elementDepth = -1;
+        private long elementStart;
+        private int skipDepth = -1;
+        private boolean skipValue;
+
+        Scanner(ElementReader reader) {
+            this.reader = reader;
+            try {
+                this.parser = jsonFactory.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Object> feed(DataBuffer buffer) {
+            List<Object> elements = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+                while (byteBuffers.hasNext()) {
+                    ByteBuffer byteBuffer = byteBuffers.next();
+                    feeder.feedInput(byteBuffer);
+                    scan(elements);
+                }
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return elements;
+        }
+
+        List<Object> endOfInput() {
+            List<Object> elements = new ArrayList<>();
+            feeder.endOfInput();
+            try {
+                scan(elements);
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            }
+            return elements;
+        }
+
+        private void scan(List<Object> elements) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (elementDepth >= 0 && parser.currentLocation().getByteOffset() - elementStart > maxInMemorySize) {
+                    throw new DataBufferLimitException("Exceeded limit on max bytes per JSON object: " + maxInMemorySize);
+                }
+                if (skipValue) {
+                    skipValue = false;
+                    if (token.isStructStart()) {
+                        skipDepth = depth++;
+                    }
+                    continue;
+                }
+                if (skipDepth >= 0) {
+                    if (token.isStructStart()) {
+                        depth++;
+                    } else if (token.isStructEnd() && --depth == skipDepth) {
+                        skipDepth = -1;
+                    }
+                    continue;
+                }
+                switch (token) {
+                    case START_OBJECT -> {
+                        depth++;
+                        if (elementDepth < 0) {
+                            elementDepth = depth;
+                            elementStart = parser.currentTokenLocation().getByteOffset();
+                            reader.start();
+                        }
+                    }
+                    case START_ARRAY -> {
+                        // Only the top level array holds elements, arrays inside an element are never read
+                        if (elementDepth >= 0) {
+                            skipDepth = depth;
+                        }
+                        depth++;
+                    }
+                    case END_OBJECT -> {
+                        if (depth-- == elementDepth) {
+                            elementDepth = -1;
+                            Object element = reader.finish();
+                            if (element != null) {
+                                elements.add(element);
+                            }
+                        }
+                    }
+                    case END_ARRAY -> depth--;
+                    case FIELD_NAME -> {
+                        int level = depth - elementDepth;
+                        String parent = level == 0 ? null : path[level - 1];
+                        String field = parser.currentName();
+                        if (level < MAX_LEVEL && reader.wants(parent, field)) {
+                            path[level] = field;
+                        } else {
+                            skipValue = true;
+                        }
+                    }
+                    default -> {
+                        if (elementDepth >= 0) {
+                            int level = depth - elementDepth;
+                            reader.value(level == 0 ? null : path[level - 1], path[level], parser);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private interface ElementReader {
+        void start();
+
+        /**
+         * Whether {@code field} is read, {@code parent} is the enclosing field or {@code null} at the element level.
+         */
+        boolean wants(@Nullable String parent, String field);
+
+        void value(@Nullable String parent, String field, JsonParser parser) throws IOException;
+
+        /**
+         * Returns the element, or {@code null} to drop it.
+         */
+        @Nullable
+        Object finish();
+    }
+
+    private static final class RepositoryReader implements ElementReader {
+        private String name;
+        private String ownerLogin;
+        private boolean fork;
+        private String branchesUrl;
+        private String defaultBranch;
+
+        @Override
+        public void start() {
+            name = null;
+            ownerLogin = null;
+            fork = false;
+            branchesUrl = null;
+            defaultBranch = null;
+        }
+
+        @Override
+        public boolean wants(String parent, String field) {
+            if (parent == null) {
+                return switch (field) {
+                    case "name", "owner", "fork", "branches_url", "default_branch" -> true;
+                    default -> false;
+                };
+            }
+            return parent.equals("owner") && field.equals("login");
+        }
+
+        @Override
+        public void value(String parent, String field, JsonParser parser) throws IOException {
+            if (parent != null) {
+                ownerLogin = parser.getValueAsString();
+                return;
+            }
+            switch (field) {
+                case "name" -> name = parser.getValueAsString();
+                case "fork" -> fork = parser.getValueAsBoolean();
+                case "branches_url" -> branchesUrl = parser.getValueAsString();
+                case "default_branch" -> defaultBranch = parser.getValueAsString();
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public Object finish() {
+            return fork ? null : new RepositoryDTO(name, ownerLogin == null ? null : Owner.of(ownerLogin), false, branchesUrl, defaultBranch);
+        }
+    }
+
+    private static final class BranchReader implements ElementReader {
+        private String name;
+        private String sha;
+
+        @Override
+        public void start() {
+            name = null;
+            sha = null;
+        }
+
+        @Override
+        public boolean wants(String parent, String field) {
+            return parent == null ? field.equals("name") || field.equals("commit") : parent.equals("commit") && field.equals("sha");
+        }
+
+        @Override
+        public void value(String parent, String field, JsonParser parser) throws IOException {
+            if (parent != null) {
+                sha = parser.getValueAsString();
+            } else if (field.equals("name")) {
+                name = parser.getValueAsString();
+            }
+        }
+
+        @Override
+        public Object finish() {
+            return new Branch(name, sha == null ? null : new Commit(sha));
+        }
+    }
+}
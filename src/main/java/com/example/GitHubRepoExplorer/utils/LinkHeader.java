@@ -0,0 +1,51 @@
+package com.example.GitHubRepoExplorer.utils;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed GitHub pagination {@code Link} header, e.g.
+ * {@code <https://api.github.com/user/1/repos?page=2>; rel="next", <https://api.github.com/user/1/repos?page=5>; rel="last"}.
+ */
+public class LinkHeader {
+    private static final Pattern LINK_PATTERN = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"([^\"]+)\"");
+    private static final String NEXT = "next";
+    private static final String LAST = "last";
+    private static final String PAGE_PARAMETER = "page";
+
+    private final Map<String, String> links;
+
+    private LinkHeader(Map<String, String> links) {
+        this.links = links;
+    }
+
+    public static LinkHeader parse(String header) {
+        Map<String, String> links = new HashMap<>();
+        if (header != null) {
+            Matcher matcher = LINK_PATTERN.matcher(header);
+            while (matcher.find()) {
+                links.put(matcher.group(2), matcher.group(1));
+            }
+        }
+        return new LinkHeader(links);
+    }
+
+    public Optional<String> next() {
+        return Optional.ofNullable(links.get(NEXT));
+    }
+
+    public OptionalInt lastPage() {
+        String last = links.get(LAST);
+        if (last == null) {
+            return OptionalInt.empty();
+        }
+        String page = UriComponentsBuilder.fromUriString(last).build().getQueryParams().getFirst(PAGE_PARAMETER);
+        return page == null ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(page));
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.GitHubRepoExplorer.webhook;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.exception.InvalidParamException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Applies GitHub webhook deliveries to {@link GitHubResponseCache}, so cached data stays current however long
+ * its TTL is. A {@code push} moves the head of the branch in cached branch lists, a deleted branch is removed
+ * from them. Changes that move entries around, such as a new branch, a new, renamed or transferred repository
+ * or a new fork, drop the affected repository lists and branch lists so they are fetched again. GraphQL
+ * results embed every branch of a user, so any change drops them.
+ * <p>
+ * Every affected entry of the shared cache tier is dropped as well, since its serialized values cannot be patched.
+ */
+@Component
+public class WebhookEventHandler {
+    private static final String INVALID_PAYLOAD_EXCEPTION_MESSAGE = "Invalid webhook payload";
+    private static final String USER_REPOS_URL_FORMAT = "/users/%s/repos";
+    private static final String GRAPHQL_URL_FORMAT = "/graphql?login=%s";
+    private static final String BRANCHES_PATH_FORMAT = "/repos/%s/%s/branches";
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    private static final String BRANCH_REF_TYPE = "branch";
+
+    private final GitHubResponseCache responseCache;
+    private final SharedCacheLoader sharedCacheLoader;
+    private final ObjectMapper objectMapper;
+
+    public WebhookEventHandler(GitHubResponseCache responseCache, SharedCacheLoader sharedCacheLoader, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.sharedCacheLoader = sharedCacheLoader;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the number of cache entries patched or dropped. Events other than {@code push}, {@code create},
+     * {@code delete}, {@code repository} and {@code fork} are ignored.
+     */
+    public int handle(String event, byte[] body) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new InvalidParamException(INVALID_PAYLOAD_EXCEPTION_MESSAGE);
+        }
+        if (payload == null || !payload.isObject()) {
+            throw new InvalidParamException(INVALID_PAYLOAD_EXCEPTION_MESSAGE);
+        }
+        return switch (event) {
+            case "push" -> push(payload);
+            case "create" -> create(payload);
+            case "delete" -> delete(payload);
+            case "repository" -> repository(payload);
+            case "fork" -> fork(payload);
+            default -> 0;
+        };
+    }
+
+    private int push(JsonNode payload) {
+        String ref = payload.path("ref").asText();
+        if (!ref.startsWith(BRANCH_REF_PREFIX)) {
+            return 0;
+        }
+        String branch = ref.substring(BRANCH_REF_PREFIX.length());
+        String owner = owner(payload.path("repository"));
+        String repository = payload.path("repository").path("name").asText();
+        dropShared(sharedCacheLoader.invalidate(graphQlUrl(owner)),
+                sharedCacheLoader.invalidate(branchesPath(owner, repository)),
+                sharedCacheLoader.invalidate(branchPath(owner, repository, branch)));
+        int touched = responseCache.invalidate(graphQl(owner));
+        if (payload.path("deleted").asBoolean()) {
+            return touched + removeBranch(owner, repository, branch);
+        }
+        String sha = payload.path("after").asText();
+        touched += responseCache.patch(branchList(owner, repository), branches -> withHead(branches, branch, sha));
+        touched += responseCache.patch(branch(owner, repository, branch), branches -> withHead(branches, branch, sha));
+        return touched;
+    }
+
+    private int create(JsonNode payload) {
+        if (!BRANCH_REF_TYPE.equals(payload.path("ref_type").asText())) {
+            return 0;
+        }
+        String owner = owner(payload.path("repository"));
+        String repository = payload.path("repository").path("name").asText();
+        // The position of the new branch in a paginated list is unknown, so the list is fetched again
+        dropShared(sharedCacheLoader.invalidate(graphQlUrl(owner)), sharedCacheLoader.invalidate(branchesPath(owner, repository)));
+        return responseCache.invalidate(graphQl(owner).or(branchList(owner, repository)));
+    }
+
+    private int delete(JsonNode payload) {
+        if (!BRANCH_REF_TYPE.equals(payload.path("ref_type").asText())) {
+            return 0;
+        }
+        String owner = owner(payload.path("repository"));
+        String repository = payload.path("repository").path("name").asText();
+        String branch = payload.path("ref").asText();
+        dropShared(sharedCacheLoader.invalidate(graphQlUrl(owner)),
+                sharedCacheLoader.invalidate(branchesPath(owner, repository)),
+                sharedCacheLoader.invalidate(branchPath(owner, repository, branch)));
+        return responseCache.invalidate(graphQl(owner)) + removeBranch(owner, repository, branch);
+    }
+
+    private int repository(JsonNode payload) {
+        String owner = owner(payload.path("repository"));
+        String repository = payload.path("repository").path("name").asText();
+        Predicate<RequestKey> affected = repositoryLists(owner).or(anyBranch(owner, repository));
+        dropShared(sharedRepositoryLists(owner), sharedCacheLoader.invalidateAll(branchesPath(owner, repository)));
+
+        JsonNode changes = payload.path("changes");
+        String previousName = changes.path("repository").path("name").path("from").asText(repository);
+        JsonNode previousOwnerNode = changes.path("owner").path("from");
+        String previousOwner = previousOwnerNode.has("user")
+                ? previousOwnerNode.path("user").path("login").asText(owner)
+                : previousOwnerNode.path("organization").path("login").asText(owner);
+        if (!previousName.equals(repository) || !previousOwner.equals(owner)) {
+            affected = affected.or(repositoryLists(previousOwner)).or(anyBranch(previousOwner, previousName));
+            dropShared(sharedRepositoryLists(previousOwner), sharedCacheLoader.invalidateAll(branchesPath(previousOwner, previousName)));
+        }
+        return responseCache.invalidate(affected);
+    }
+
+    private int fork(JsonNode payload) {
+        // Forks are filtered out, but they shift the pages of the new owner's repository list
+        String owner = owner(payload.path("forkee"));
+        dropShared(sharedRepositoryLists(owner));
+        return responseCache.invalidate(repositoryLists(owner));
+    }
+
+    private int removeBranch(String owner, String repository, String branch) {
+        return responseCache.patch(branchList(owner, repository), branches -> without(branches, branch))
+                + responseCache.invalidate(branch(owner, repository, branch));
+    }
+
+    private List<?> withHead(List<?> branches, String name, String sha) {
+        List<Branch> updated = new ArrayList<>(branches.size());
+        boolean found = false;
+        for (Object value : branches) {
+            if (!(value instanceof Branch branch)) {
+                return null;
+            }
+            if (branch.name().equals(name)) {
+                updated.add(new Branch(name, new Commit(sha)));
+                found = true;
+            } else {
+                updated.add(branch);
+            }
+        }
+        // A branch missing from the list was created by this push and is picked up by the next fetch
+        return found ? updated : null;
+    }
+
+    private List<?> without(List<?> branches, String name) {
+        List<Branch> updated = new ArrayList<>(branches.size());
+        for (Object value : branches) {
+            if (!(value instanceof Branch branch)) {
+                return null;
+            }
+            if (!branch.name().equals(name)) {
+                updated.add(branch);
+            }
+        }
+        return updated;
+    }
+
+    private String owner(JsonNode repository) {
+        JsonNode owner = repository.path("owner");
+        return owner.hasNonNull("login") ? owner.path("login").asText() : owner.path("name").asText();
+    }
+
+    private void dropShared(Mono<?>... invalidations) {
+        // Runs in the background, a blocking shared cache must not hold up the delivery
+        Mono.when(invalidations).subscribe();
+    }
+
+    private Mono<Void> sharedRepositoryLists(String owner) {
+        return Mono.when(sharedCacheLoader.invalidate(String.format(USER_REPOS_URL_FORMAT, owner)),
+                sharedCacheLoader.invalidate(graphQlUrl(owner)));
+    }
+
+    private String graphQlUrl(String owner) {
+        return String.format(GRAPHQL_URL_FORMAT, owner);
+    }
+
+    private String branchPath(String owner, String repository, String branch) {
+        return branchesPath(owner, repository) + "/" + UriUtils.encodePathSegment(branch, StandardCharsets.UTF_8);
+    }
+
+    private Predicate<RequestKey> repositoryLists(String owner) {
+        return graphQl(owner).or(key -> key.url().equalsIgnoreCase(String.format(USER_REPOS_URL_FORMAT, owner)));
+    }
+
+    private Predicate<RequestKey> graphQl(String owner) {
+        return key -> key.url().equalsIgnoreCase(graphQlUrl(owner));
+    }
+
+    private Predicate<RequestKey> branchList(String owner, String repository) {
+        String suffix = branchesPath(owner, repository);
+        return key -> key.url().toLowerCase(Locale.ROOT).endsWith(suffix);
+    }
+
+    private Predicate<RequestKey> branch(String owner, String repository, String branch) {
+        String prefix = branchesPath(owner, repository) + "/";
+        // Branch lookups are cached under the URL they were fetched with, where the name is one encoded segment
+        String segment = UriUtils.encodePathSegment(branch, StandardCharsets.UTF_8);
+        return key -> key.url().endsWith("/" + segment) && key.url().toLowerCase(Locale.ROOT).endsWith(prefix + segment.toLowerCase(Locale.ROOT));
+    }
+
+    private Predicate<RequestKey> anyBranch(String owner, String repository) {
+        String path = branchesPath(owner, repository);
+        return key -> {
+            String url = key.url().toLowerCase(Locale.ROOT);
+            return url.endsWith(path) || url.contains(path + "/");
+        };
+    }
+
+    private String branchesPath(String owner, String repository) {
+        // Logins and repository names are case insensitive on GitHub, branch names are not
+        return String.format(BRANCHES_PATH_FORMAT, owner, repository).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.GitHubRepoExplorer.webhook;
+
+import com.example.GitHubRepoExplorer.exception.InvalidSignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Checks the {@code X-Hub-Signature-256} header GitHub sends with every delivery: an HMAC-SHA256 of the raw
+ * body keyed with the webhook secret. Without a configured secret every delivery is rejected.
+ */
+@Component
+public class WebhookSignatureVerifier {
+    private static final String INVALID_SIGNATURE_EXCEPTION_MESSAGE = "Invalid webhook signature";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret;
+
+    public WebhookSignatureVerifier(@Value("${github.webhook.secret}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void verify(String signature, byte[] body) {
+        if (secret.length == 0 || signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            throw new InvalidSignatureException(INVALID_SIGNATURE_EXCEPTION_MESSAGE);
+        }
+        byte[] expected = sign(body);
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSignatureException(INVALID_SIGNATURE_EXCEPTION_MESSAGE);
+        }
+        // Constant time comparison, so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new InvalidSignatureException(INVALID_SIGNATURE_EXCEPTION_MESSAGE);
+        }
+    }
+
+    private byte[] sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompactDomainModelTest {
+    private static final String SHA = "7fd1a60b01f91b314f59955a4e4d4e80d8edf11d";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void shouldSerializeExactlyAsBefore() throws Exception {
+        Repository repository = new Repository("Hello-World", new Owner("octocat"),
+                List.of(new Branch("main", new Commit(SHA)), new Branch("dev", new Commit("not-a-sha")), new Branch("orphan", null)));
+
+        assertEquals("{\"name\":\"Hello-World\",\"owner\":{\"login\":\"octocat\"},\"branches\":["
+                        + "{\"name\":\"main\",\"commit\":{\"sha\":\"" + SHA + "\"}},"
+                        + "{\"name\":\"dev\",\"commit\":{\"sha\":\"not-a-sha\"}},"
+                        + "{\"name\":\"orphan\",\"commit\":null}]}",
+                objectMapper.writeValueAsString(repository));
+        assertEquals("{\"name\":\"Hello-World\"}", objectMapper.writeValueAsString(new Repository("Hello-World", null, null)));
+    }
+
+    @Test
+    void shouldRoundTripShas() throws Exception {
+        for (String sha : List.of(SHA, "0000000000000000000000000000000000000000", "ffffffffffffffffffffffffffffffffffffffff",
+                "7FD1A60B01F91B314F59955A4E4D4E80D8EDF11D", "abc123", "")) {
+            Commit commit = new Commit(sha);
+            assertEquals(sha, commit.sha());
+            assertEquals(commit, objectMapper.readValue(objectMapper.writeValueAsString(commit), Commit.class));
+        }
+        assertNull(new Commit(null).sha());
+        assertNotEquals(new Commit(SHA), new Commit("7fd1a60b01f91b314f59955a4e4d4e80d8edf11e"));
+    }
+
+    @Test
+    void shouldShareOwnersAndBranchNames() throws Exception {
+        RepositoryDTO[] repositories = objectMapper.readValue(
+                "[{\"name\":\"a\",\"owner\":{\"login\":\"octocat\"}},{\"name\":\"b\",\"owner\":{\"login\":\"octocat\"}}]",
+                RepositoryDTO[].class);
+        Branch[] branches = objectMapper.readValue(
+                "[{\"name\":\"main\",\"commit\":{\"sha\":\"" + SHA + "\"}},{\"name\":\"main\",\"commit\":{\"sha\":\"" + SHA + "\"}}]",
+                Branch[].class);
+
+        assertSame(repositories[0].getOwner(), repositories[1].getOwner());
+        assertSame(Owner.of("octocat"), repositories[0].getOwner());
+        assertSame(branches[0].name(), branches[1].name());
+        assertSame(branches[0].name(), new Branch(new String("main".toCharArray()), null).name());
+    }
+}
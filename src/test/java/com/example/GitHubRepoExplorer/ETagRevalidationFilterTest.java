@@ -0,0 +1,142 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.ETagRevalidationFilter;
+import com.example.GitHubRepoExplorer.cache.InMemoryResponseStore;
+import com.example.GitHubRepoExplorer.cache.StoredResponse;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import com.example.GitHubRepoExplorer.utils.GitHubJsonDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagRevalidationFilterTest {
+    private GitHubApiStub stub;
+    private GitHubApiClient gitHubApiClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new GitHubApiStub(3, Duration.ZERO);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new ETagRevalidationFilter(new InMemoryResponseStore(DataSize.ofMegabytes(1))))
+                .build();
+        gitHubApiClient = TestServices.client(webClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testMakeApiRequest_ServesStoredBodyOnNotModified() {
+        List<RepositoryDTO> first = gitHubApiClient.makeApiRequest("/users/testUser/repos", RepositoryDTO.class, 30, 1);
+        List<RepositoryDTO> second = gitHubApiClient.makeApiRequest("/users/testUser/repos", RepositoryDTO.class, 30, 1);
+
+        assertEquals(3, first.size());
+        assertEquals(first, second);
+        assertEquals(1, stub.notModifiedResponses());
+    }
+
+    @Test
+    void testMakeApiRequest_KeepsValidatorsPerUrl() {
+        String branchesUrl = stub.baseUrl() + "/repos/testUser/repo-0/branches";
+        String otherBranchesUrl = stub.baseUrl() + "/repos/testUser/repo-1/branches";
+
+        gitHubApiClient.makeApiRequest(branchesUrl, Branch.class);
+        List<Branch> otherBranches = gitHubApiClient.makeApiRequest(otherBranchesUrl, Branch.class);
+        List<Branch> revalidated = gitHubApiClient.makeApiRequest(branchesUrl, Branch.class);
+
+        assertEquals("repo-1-sha", otherBranches.getFirst().commit().sha());
+        assertEquals("repo-0-sha", revalidated.getFirst().commit().sha());
+        assertEquals(1, stub.notModifiedResponses());
+        assertEquals(3, stub.branchRequests());
+    }
+
+    @Test
+    void testFilter_CallsBlockingStoreOffNonBlockingThreads() {
+        ThreadRecordingStore store = new ThreadRecordingStore();
+        GitHubApiClient client = TestServices.client(WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new ETagRevalidationFilter(store))
+                .build());
+
+        for (int request = 0; request < 2; request++) {
+            // Parallel threads are non-blocking like the Netty event loop that runs exchanges of later pages
+            client.makeApiRequestAsync("/users/testUser/repos", RepositoryDTO.class, 30, 1)
+                    .subscribeOn(Schedulers.parallel())
+                    .block();
+        }
+
+        assertEquals(1, stub.notModifiedResponses());
+        assertEquals(List.of("get", "put", "get"), store.calls);
+        assertTrue(store.nonBlockingCalls.isEmpty(), () -> "Store called on " + store.nonBlockingCalls);
+    }
+
+    @Test
+    void testFilter_StreamsBodyLargerThanBufferLimitToDecoder() throws Exception {
+        int maxInMemorySize = 64 * 1024;
+        try (GitHubApiStub largeStub = new GitHubApiStub(50, Duration.ZERO).payloadPadding(4096)) {
+            InMemoryResponseStore store = new InMemoryResponseStore(DataSize.ofMegabytes(1));
+            GitHubApiClient client = TestServices.client(WebClient.builder()
+                    .baseUrl(largeStub.baseUrl())
+                    .codecs(codecs -> {
+                        codecs.defaultCodecs().maxInMemorySize(maxInMemorySize);
+                        codecs.customCodecs().register(new GitHubJsonDecoder(maxInMemorySize));
+                    })
+                    .filter(new ETagRevalidationFilter(store))
+                    .build());
+
+            List<RepositoryDTO> repositories = client.makeApiRequest("/users/testUser/repos", RepositoryDTO.class, 50, 1);
+
+            assertEquals(50, repositories.size());
+            assertTrue(store.get(largeStub.baseUrl() + "/users/testUser/repos?per_page=50&page=1").orElseThrow().body().length > maxInMemorySize);
+        }
+    }
+
+    private static class ThreadRecordingStore extends InMemoryResponseStore {
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private final List<String> nonBlockingCalls = new CopyOnWriteArrayList<>();
+
+        ThreadRecordingStore() {
+            super(DataSize.ofMegabytes(1));
+        }
+
+        @Override
+        public Optional<StoredResponse> get(String url) {
+            record("get");
+            return super.get(url);
+        }
+
+        @Override
+        public void put(String url, StoredResponse response) {
+            record("put");
+            super.put(url, response);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+
+        private void record(String call) {
+            calls.add(call);
+            if (Schedulers.isInNonBlockingThread()) {
+                nonBlockingCalls.add(call + " on " + Thread.currentThread().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.ETagRevalidationFilter;
+import com.example.GitHubRepoExplorer.cache.FileResponseStore;
+import com.example.GitHubRepoExplorer.cache.StoredResponse;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileResponseStoreTest {
+    private static final String REPOS_URL = "/users/testUser/repos";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testMakeApiRequest_RevalidatesStoredResponseAfterRestart() throws Exception {
+        Path log = directory.resolve("responses.log");
+        try (GitHubApiStub stub = new GitHubApiStub(3, Duration.ZERO)) {
+            List<RepositoryDTO> beforeRestart;
+            try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+                beforeRestart = client(stub, store).makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1);
+            }
+            try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+                List<RepositoryDTO> afterRestart = client(stub, store).makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1);
+
+                assertEquals(beforeRestart, afterRestart);
+                assertEquals(1, store.entries());
+                assertEquals(1, stub.notModifiedResponses());
+            }
+        }
+    }
+
+    @Test
+    void testGet_TruncatesTornRecordOnLoad() throws Exception {
+        Path log = directory.resolve("responses.log");
+        try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+            store.put("/a", response("\"a\"", 100));
+            store.put("/b", response("\"b\"", 100));
+        }
+        long intactSize = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+            assertEquals("\"b\"", store.get("/b").orElseThrow().etag());
+            assertArrayEquals(response("\"a\"", 100).body(), store.get("/a").orElseThrow().body());
+            assertEquals(intactSize, store.diskSize());
+        }
+    }
+
+    @Test
+    void testPut_CompactsSupersededRecordsAndEvictsOldestBeyondCap() throws Exception {
+        DataSize maximumSize = DataSize.ofKilobytes(32);
+        try (FileResponseStore store = new FileResponseStore(directory.resolve("responses.log"), maximumSize)) {
+            for (int i = 0; i < 50; i++) {
+                store.put("/same", response("\"" + i + "\"", 4096));
+            }
+            assertEquals("\"49\"", store.get("/same").orElseThrow().etag());
+            assertTrue(store.diskSize() < 2 * maximumSize.toBytes());
+
+            for (int i = 0; i < 10; i++) {
+                store.put("/url-" + i, response("\"" + i + "\"", 4096));
+            }
+            assertTrue(store.get("/url-0").isEmpty());
+            assertTrue(store.get("/url-9").isPresent());
+            assertTrue(store.entries() < 8);
+        }
+    }
+
+    @Test
+    void testPut_SkipsResponseWithStringsBeyondLengthPrefix() throws Exception {
+        Path log = directory.resolve("responses.log");
+        String longUrl = "/search?q=" + "x".repeat(0xFFFF);
+        try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+            store.put(longUrl, response("\"long\"", 100));
+            store.put("/b", response("\"" + "e".repeat(0x10000) + "\"", 100));
+            store.put("/a", response("\"a\"", 100));
+
+            assertTrue(store.get(longUrl).isEmpty());
+            assertTrue(store.get("/b").isEmpty());
+        }
+        try (FileResponseStore store = new FileResponseStore(log, DataSize.ofMegabytes(1))) {
+            assertEquals(1, store.entries());
+            assertEquals("\"a\"", store.get("/a").orElseThrow().etag());
+        }
+    }
+
+    private StoredResponse response(String etag, int size) {
+        byte[] body = "x".repeat(size).getBytes(StandardCharsets.UTF_8);
+        return new StoredResponse(etag, "application/json", body);
+    }
+
+    private GitHubApiClient client(GitHubApiStub stub, FileResponseStore store) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new ETagRevalidationFilter(store))
+                .build();
+        return TestServices.client(webClient);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitHubApiClientPaginationTest {
+    private GitHubApiStub stub;
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testFetchAll_FollowsLinkHeaderInOrder() throws Exception {
+        stub = new GitHubApiStub(1, 250, Duration.ZERO);
+
+        List<Branch> branches = client(10).fetchAll(stub.baseUrl() + "/repos/testUser/repo-0/branches", Branch.class);
+
+        assertEquals(250, branches.size());
+        assertEquals("main", branches.getFirst().name());
+        assertEquals(IntStream.range(1, 250).mapToObj(i -> "branch-" + i).toList(),
+                branches.subList(1, 250).stream().map(Branch::name).toList());
+        assertEquals(3, stub.branchRequests());
+    }
+
+    @Test
+    void testFetchAll_StopsAtPageCap() throws Exception {
+        stub = new GitHubApiStub(1, 250, Duration.ZERO);
+
+        String url = stub.baseUrl() + "/repos/testUser/repo-0/branches";
+        GitHubApiClient gitHubApiClient = client(2);
+
+        List<Branch> branches = gitHubApiClient.fetchAll(url, Branch.class);
+
+        assertEquals(200, branches.size());
+        assertEquals(2, stub.branchRequests());
+        assertTrue(gitHubApiClient.isTruncated(url));
+    }
+
+    @Test
+    void testFetchAll_SinglePageWithoutLinkHeader() throws Exception {
+        stub = new GitHubApiStub(5, Duration.ZERO);
+
+        GitHubApiClient gitHubApiClient = client(10);
+
+        List<RepositoryDTO> repositories = gitHubApiClient.fetchAll("/users/testUser/repos", RepositoryDTO.class);
+
+        assertEquals(5, repositories.size());
+        assertEquals(1, stub.repositoryRequests());
+        assertFalse(gitHubApiClient.isTruncated("/users/testUser/repos"));
+    }
+
+    private GitHubApiClient client(int maxPages) {
+        return TestServices.client(WebClient.builder().baseUrl(stub.baseUrl()).build(),
+                TestServices.disabledCache(), TestServices.localOnly(), maxPages);
+    }
+}
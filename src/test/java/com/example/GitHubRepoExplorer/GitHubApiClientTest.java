@@ -7,7 +7,6 @@ import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +16,7 @@ import org.springframework.web.reactive.function.client.WebClient.RequestHeaders
 import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
 import reactor.core.publisher.Flux;
 
+import java.net.URI;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -41,25 +41,22 @@ class GitHubApiClientTest {
     @Mock
     private ResponseSpec responseSpec;
 
-    @InjectMocks
     private GitHubApiClient gitHubApiClient;
 
-    private static final String AUTH_TOKEN = "testAuthToken";
-
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        gitHubApiClient = new GitHubApiClient(webClient, AUTH_TOKEN);
+        gitHubApiClient = TestServices.client(webClient);
     }
 
     @Test
     void testMakeApiRequest_Success() {
         String url = "https://api.github.com/users/testUser/repos";
-        RepositoryDTO expectedRepo = new RepositoryDTO("testRepo", new Owner("testOwner"), false, "branches_url");
+        RepositoryDTO expectedRepo = new RepositoryDTO("testRepo", new Owner("testOwner"), false, "branches_url", "main");
         List<RepositoryDTO> expectedList = List.of(expectedRepo);
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(eq(url))).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(eq(URI.create(url)))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
@@ -68,7 +65,7 @@ class GitHubApiClientTest {
         List<RepositoryDTO> result = gitHubApiClient.makeApiRequest(url, RepositoryDTO.class);
 
         verify(webClient).get();
-        verify(requestHeadersUriSpec).uri(eq(url));
+        verify(requestHeadersUriSpec).uri(eq(URI.create(url)));
         verify(requestHeadersSpec).headers(any());
         verify(requestHeadersSpec).retrieve();
         verify(responseSpec).onStatus(any(), any());
@@ -83,11 +80,11 @@ class GitHubApiClientTest {
         int perPage = 10;
         int page = 1;
         String expectedUrl = String.format("%s?per_page=%d&page=%d", url, perPage, page);
-        RepositoryDTO expectedRepo = new RepositoryDTO("testRepo", new Owner("testOwner"), false, "branches_url");
+        RepositoryDTO expectedRepo = new RepositoryDTO("testRepo", new Owner("testOwner"), false, "branches_url", "main");
         List<RepositoryDTO> expectedList = List.of(expectedRepo);
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(eq(expectedUrl))).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(eq(URI.create(expectedUrl)))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
@@ -96,7 +93,7 @@ class GitHubApiClientTest {
         List<RepositoryDTO> result = gitHubApiClient.makeApiRequest(url, RepositoryDTO.class, perPage, page);
 
         verify(webClient).get();
-        verify(requestHeadersUriSpec).uri(eq(expectedUrl));
+        verify(requestHeadersUriSpec).uri(eq(URI.create(expectedUrl)));
         verify(requestHeadersSpec).headers(any());
         verify(requestHeadersSpec).retrieve();
         verify(responseSpec).onStatus(any(), any());
@@ -111,7 +108,7 @@ class GitHubApiClientTest {
         String url = "https://api.github.com/users/nonExistentUser/repos";
 
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(eq(url))).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(eq(URI.create(url)))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
@@ -120,7 +117,7 @@ class GitHubApiClientTest {
         assertThrows(UserNotFoundException.class, () -> gitHubApiClient.makeApiRequest(url, RepositoryDTO.class));
 
         verify(webClient).get();
-        verify(requestHeadersUriSpec).uri(eq(url));
+        verify(requestHeadersUriSpec).uri(eq(URI.create(url)));
         verify(requestHeadersSpec).headers(any());
         verify(requestHeadersSpec).retrieve();
         verify(responseSpec).onStatus(any(), any());
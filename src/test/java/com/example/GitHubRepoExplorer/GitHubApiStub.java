@@ -0,0 +1,328 @@
+package com.example.GitHubRepoExplorer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Minimal local stand-in for the GitHub REST API, serving {@code /users/{user}/repos}
+ * and {@code /repos/{user}/{repo}/branches} with a fixed latency on branch lookups.
+ * Both endpoints honour {@code per_page}/{@code page} and send GitHub style {@code Link} headers,
+ * {@code /repos/{user}/{repo}/branches/{branch}} returns a single branch.
+ * {@code POST /graphql} serves the same data for the {@code Repositories}, {@code RepositoryCursor}
+ * and {@code Branches} operations, with {@code cursor:<offset>} cursors. Repository latency, a random
+ * {@code 5xx} error rate and padding of each repository object can be configured for load tests.
+ */
+class GitHubApiStub implements AutoCloseable {
+    private static final int DEFAULT_PER_PAGE = 30;
+    private static final int BACKLOG = 1024;
+    private static final int NO_RATE_LIMIT = -1;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String CURSOR_PREFIX = "cursor:";
+    private static final int GRAPHQL_REFS_PAGE_SIZE = 100;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger repositoryRequests = new AtomicInteger();
+    private final AtomicInteger branchRequests = new AtomicInteger();
+    private final List<String> branchPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger graphQlRequests = new AtomicInteger();
+    private final int repositories;
+    private final int branchesPerRepository;
+    private final Duration branchLatency;
+    private final Map<String, AtomicInteger> requestsPerCredential = new ConcurrentHashMap<>();
+    private final Set<String> revokedTokens = ConcurrentHashMap.newKeySet();
+    private volatile int rateLimit = NO_RATE_LIMIT;
+    private volatile int forkEvery;
+    private volatile Duration repositoryLatency = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile String padding = "";
+
+    GitHubApiStub(int repositories, Duration branchLatency) throws IOException {
+        this(repositories, 1, branchLatency);
+    }
+
+    GitHubApiStub(int repositories, int branchesPerRepository, Duration branchLatency) throws IOException {
+        this.repositories = repositories;
+        this.branchesPerRepository = branchesPerRepository;
+        this.branchLatency = branchLatency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), BACKLOG);
+        this.server.createContext("/users/", this::handleRepositories);
+        this.server.createContext("/repos/", this::handleBranches);
+        this.server.createContext("/graphql", this::handleGraphQl);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Sends {@code X-RateLimit-*} headers and answers {@code 403} once {@code limit} requests were served
+     * for the same credential.
+     */
+    GitHubApiStub rateLimit(int limit) {
+        this.rateLimit = limit;
+        return this;
+    }
+
+    /**
+     * Answers {@code 401} for requests signed with {@code token}.
+     */
+    GitHubApiStub revokeToken(String token) {
+        revokedTokens.add(token);
+        return this;
+    }
+
+    /**
+     * Marks every {@code every}-th repository as a fork.
+     */
+    GitHubApiStub forks(int every) {
+        this.forkEvery = every;
+        return this;
+    }
+
+    GitHubApiStub repositoryLatency(Duration latency) {
+        this.repositoryLatency = latency;
+        return this;
+    }
+
+    /**
+     * Answers {@code 502} for the given fraction of requests, picked at random.
+     */
+    GitHubApiStub errorRate(double rate) {
+        this.errorRate = rate;
+        return this;
+    }
+
+    /**
+     * Adds a {@code description} of {@code bytes} characters to every repository object.
+     */
+    GitHubApiStub payloadPadding(int bytes) {
+        this.padding = "x".repeat(bytes);
+        return this;
+    }
+
+    int requestsWithToken(String token) {
+        AtomicInteger requests = requestsPerCredential.get(token);
+        return requests == null ? 0 : requests.get();
+    }
+
+    int repositoryRequests() {
+        return repositoryRequests.get();
+    }
+
+    int branchRequests() {
+        return branchRequests.get();
+    }
+
+    /**
+     * Raw, still percent-encoded paths of every branch request, in arrival order.
+     */
+    List<String> branchPaths() {
+        return List.copyOf(branchPaths);
+    }
+
+    int notModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    int graphQlRequests() {
+        return graphQlRequests.get();
+    }
+
+    private void handleRepositories(HttpExchange exchange) throws IOException {
+        repositoryRequests.incrementAndGet();
+        sleep(repositoryLatency);
+        String user = exchange.getRequestURI().getPath().split("/")[2];
+        respondWithPage(exchange, repositories, i -> "{\"name\":\"repo-" + i + "\",\"owner\":{\"login\":\"" + user + "\"},"
+                + "\"description\":\"" + padding + "\","
+                + "\"fork\":" + isFork(i) + ",\"default_branch\":\"main\",\"branches_url\":\"" + baseUrl() + "/repos/" + user + "/repo-" + i + "/branches{/branch}\"}");
+    }
+
+    private void handleBranches(HttpExchange exchange) throws IOException {
+        branchRequests.incrementAndGet();
+        String path = exchange.getRequestURI().getRawPath();
+        branchPaths.add(path);
+        sleep(branchLatency);
+        String[] segments = path.split("/");
+        String repo = segments[3];
+        if (segments.length > 5) {
+            respondWithBranch(exchange, repo, UriUtils.decode(segments[5], StandardCharsets.UTF_8));
+            return;
+        }
+        respondWithPage(exchange, branchesPerRepository, i ->
+                "{\"name\":\"" + branchName(i) + "\",\"commit\":{\"sha\":\"" + branchSha(repo, i) + "\"}}");
+    }
+
+    private void respondWithBranch(HttpExchange exchange, String repo, String name) throws IOException {
+        for (int i = 0; i < branchesPerRepository; i++) {
+            if (branchName(i).equals(name)) {
+                respond(exchange, "{\"name\":\"" + name + "\",\"commit\":{\"sha\":\"" + branchSha(repo, i) + "\"}}");
+                return;
+            }
+        }
+        respondWithError(exchange, 404, "Branch not found");
+    }
+
+    private void handleGraphQl(HttpExchange exchange) throws IOException {
+        graphQlRequests.incrementAndGet();
+        JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+        JsonNode variables = request.path("variables");
+        switch (request.path("operationName").asText()) {
+            case "Repositories", "RepositoryCursor" -> {
+                String user = variables.path("login").asText();
+                int from = offset(variables.path("after"));
+                int to = Math.min(repositories, from + variables.path("first").asInt());
+                StringJoiner nodes = new StringJoiner(",", "[", "]");
+                for (int i = from; i < to; i++) {
+                    nodes.add("{\"name\":\"repo-" + i + "\",\"isFork\":" + isFork(i) + ",\"owner\":{\"login\":\"" + user + "\"},"
+                            + "\"defaultBranchRef\":{\"name\":\"main\"},\"refs\":" + refs("repo-" + i, 0) + "}");
+                }
+                respond(exchange, "{\"data\":{\"repositoryOwner\":{\"repositories\":{"
+                        + pageInfo(to < repositories, to) + ",\"nodes\":" + nodes + "}}}}");
+            }
+            case "Branches" -> respond(exchange, "{\"data\":{\"repository\":{\"refs\":"
+                    + refs(variables.path("name").asText(), offset(variables.path("refsAfter"))) + "}}}");
+            default -> respondWithError(exchange, 400, "Unknown operation");
+        }
+    }
+
+    private String refs(String repo, int from) {
+        int to = Math.min(branchesPerRepository, from + GRAPHQL_REFS_PAGE_SIZE);
+        StringJoiner nodes = new StringJoiner(",", "[", "]");
+        for (int i = from; i < to; i++) {
+            nodes.add("{\"name\":\"" + branchName(i) + "\",\"target\":{\"oid\":\"" + branchSha(repo, i) + "\"}}");
+        }
+        return "{" + pageInfo(to < branchesPerRepository, to) + ",\"nodes\":" + nodes + "}";
+    }
+
+    private String pageInfo(boolean hasNextPage, int end) {
+        return "\"pageInfo\":{\"hasNextPage\":" + hasNextPage + ",\"endCursor\":\"" + CURSOR_PREFIX + end + "\"}";
+    }
+
+    private int offset(JsonNode cursor) {
+        return cursor.isTextual() ? Integer.parseInt(cursor.asText().substring(CURSOR_PREFIX.length())) : 0;
+    }
+
+    private boolean isFork(int repository) {
+        return forkEvery > 0 && (repository + 1) % forkEvery == 0;
+    }
+
+    private String branchName(int branch) {
+        return branch == 0 ? "main" : "branch-" + branch;
+    }
+
+    private String branchSha(String repo, int branch) {
+        return branch == 0 ? repo + "-sha" : repo + "-sha-" + branch;
+    }
+
+    private void respondWithPage(HttpExchange exchange, int total, IntFunction<String> item) throws IOException {
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build().getQueryParams();
+        int perPage = intParameter(query, "per_page", DEFAULT_PER_PAGE);
+        int page = intParameter(query, "page", 1);
+        int lastPage = Math.max(1, (total + perPage - 1) / perPage);
+
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = (page - 1) * perPage; i < Math.min(total, page * perPage); i++) {
+            body.add(item.apply(i));
+        }
+        if (page < lastPage) {
+            String url = baseUrl() + exchange.getRequestURI().getPath() + "?per_page=" + perPage + "&page=";
+            exchange.getResponseHeaders().set("Link",
+                    "<" + url + (page + 1) + ">; rel=\"next\", <" + url + lastPage + ">; rel=\"last\"");
+        }
+        respond(exchange, body.toString());
+    }
+
+    private int intParameter(MultiValueMap<String, String> query, String name, int defaultValue) {
+        String value = query.getFirst(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            respondWithError(exchange, 502, "Server Error");
+            return;
+        }
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = authorization == null ? "" : authorization.substring(BEARER_PREFIX.length());
+        int served = requestsPerCredential.computeIfAbsent(token, key -> new AtomicInteger()).incrementAndGet();
+        if (revokedTokens.contains(token)) {
+            respondWithError(exchange, 401, "Bad credentials");
+            return;
+        }
+        if (rateLimit != NO_RATE_LIMIT) {
+            int remaining = rateLimit - served;
+            long reset = System.currentTimeMillis() / 1000 + 3600;
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(rateLimit));
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(reset));
+            if (remaining < 0) {
+                respondWithError(exchange, 403, "API rate limit exceeded");
+                return;
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedResponses.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private void respondWithError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] error = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, error.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(error);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.SerializedResponseCache;
+import com.example.GitHubRepoExplorer.controller.GitHubController;
+import com.example.GitHubRepoExplorer.controller.RequestValidator;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryChangeTracker;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(GitHubController.class)
+@Import({RequestValidator.class, SerializedResponseCache.class})
+class GitHubControllerStreamingTest {
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String EVENT_STREAM_MEDIA_TYPE = "text/event-stream";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GitHubService gitHubService;
+
+    @MockBean
+    private RepositoryChangeTracker changeTracker;
+
+    @Test
+    void shouldStreamRepositoriesAsNdjson() throws Exception {
+        when(gitHubService.getNonForkedRepositories("testUser", 30, 1, RepositoryQuery.defaults())).thenReturn(Flux.just(
+                new Repository("first", new Owner("testUser"), List.of(new Branch("main", new Commit("abc")))),
+                new Repository("second", new Owner("testUser"), List.of())));
+
+        MvcResult result = mockMvc.perform(get("/api/repos/testUser").accept(NDJSON_MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(NDJSON_MEDIA_TYPE))
+                .andExpect(content().string(
+                        "{\"name\":\"first\",\"owner\":{\"login\":\"testUser\"},\"branches\":[{\"name\":\"main\",\"commit\":{\"sha\":\"abc\"}}]}\n"
+                                + "{\"name\":\"second\",\"owner\":{\"login\":\"testUser\"},\"branches\":[]}\n"));
+    }
+
+    @Test
+    void shouldStreamRepositoriesAsServerSentEvents() throws Exception {
+        when(gitHubService.getNonForkedRepositories("testUser", 30, 1, RepositoryQuery.defaults())).thenReturn(Flux.just(
+                new Repository("first", new Owner("testUser"), List.of())));
+
+        MvcResult result = mockMvc.perform(get("/api/repos/testUser").accept(EVENT_STREAM_MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(EVENT_STREAM_MEDIA_TYPE))
+                .andExpect(content().string("data:{\"name\":\"first\",\"owner\":{\"login\":\"testUser\"},\"branches\":[]}\n\n"));
+    }
+
+    @Test
+    void shouldThrowUserNotFoundExceptionBeforeStreaming() throws Exception {
+        when(gitHubService.getNonForkedRepositories("unknownUser", 30, 1, RepositoryQuery.defaults()))
+                .thenReturn(Flux.error(new UserNotFoundException("User not found")));
+
+        MvcResult result = mockMvc.perform(get("/api/repos/unknownUser").accept(NDJSON_MEDIA_TYPE))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("{\"status\":404,\"message\":\"User not found\"}"));
+    }
+
+    @Test
+    void shouldThrowInvalidParamExceptionForStreaming() throws Exception {
+        mockMvc.perform(get("/api/repos/testUser").accept(NDJSON_MEDIA_TYPE).param("page", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("{\"status\":400,\"message\":\"Invalid page parameter\"}"));
+    }
+
+    @Test
+    void shouldReturnBatchResults() throws Exception {
+        when(gitHubService.getNonForkedRepositoriesByUsernames(List.of("testUser"), 10, 2, false)).thenReturn(List.of(
+                new UserRepositories("testUser", List.of(), null)));
+
+        mockMvc.perform(post("/api/repos:batch")
+                        .accept("application/json")
+                        .contentType("application/json")
+                        .content("{\"usernames\":[\"testUser\"],\"per_page\":10,\"page\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"username\":\"testUser\",\"repositories\":[]}]", true));
+    }
+}
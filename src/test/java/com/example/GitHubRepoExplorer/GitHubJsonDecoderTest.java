@@ -0,0 +1,117 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.utils.GitHubJsonDecoder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitHubJsonDecoderTest {
+    private static final String REPOSITORIES_JSON = """
+            [
+              {"id":1296269,"node_id":"MDEwOlJlcG9zaXRvcnkxMjk2MjY5","name":"Hello-World","full_name":"octocat/Hello-World",
+               "owner":{"login":"octocat","id":1,"name":"not the login","type":"User","site_admin":false},
+               "private":false,"description":"This \\"quoted\\" description has a name: \\u00e9","fork":false,
+               "topics":["octocat",{"name":"nested"},[1,2]],"permissions":{"admin":false,"push":false,"pull":true},
+               "license":null,"branches_url":"https://api.github.com/repos/octocat/Hello-World/branches{/branch}",
+               "template_repository":{"name":"template","fork":true,"owner":{"login":"someone-else"}},
+               "default_branch":"master","size":108,"score":1.5e3},
+              {"name":"Spoon-Knife","fork":true,"owner":{"login":"octocat"},
+               "branches_url":"https://api.github.com/repos/octocat/Spoon-Knife/branches{/branch}","default_branch":"main"},
+              {"default_branch":null,"branches_url":"https://api.github.com/repos/octocat/git-consortium/branches{/branch}",
+               "owner":{"type":"User","login":"octocat"},"name":"git-consortium","fork":false}
+            ]""";
+
+    private static final String BRANCH_JSON = """
+            {"name":"main","commit":{"sha":"7fd1a60b01f91b314f59955a4e4d4e80d8edf11d","node_id":"C_kwDOA",
+             "commit":{"author":{"name":"The Octocat","date":"2012-03-06T23:06:50Z"},"message":"Merge pull request #6",
+                       "tree":{"sha":"b4eecafa9be2f2006ce1b709d6857b07069b4608"},"comment_count":77},
+             "parents":[{"sha":"553c2077f0edc3d5dc5d17262f6aa498e69d6f8e"},{"sha":"762941318ee16e59dabbacb1b4049eec22f0d303"}]},
+             "_links":{"self":"https://api.github.com/repos/octocat/Hello-World/branches/main"},
+             "protected":false,"protection":{"enabled":false,"required_status_checks":{"contexts":[],"checks":[]}},
+             "protection_url":"https://api.github.com/repos/octocat/Hello-World/branches/main/protection"}""";
+
+    private final GitHubJsonDecoder decoder = new GitHubJsonDecoder(256 * 1024);
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void testDecode_MatchesJacksonWithoutForksForEveryChunking() throws Exception {
+        List<RepositoryDTO> expected = Arrays.stream(objectMapper.readValue(REPOSITORIES_JSON, RepositoryDTO[].class))
+                .filter(repository -> !repository.isFork())
+                .toList();
+
+        for (int chunkSize = 1; chunkSize <= REPOSITORIES_JSON.length(); chunkSize += 7) {
+            assertEquals(expected, decode(REPOSITORIES_JSON, RepositoryDTO.class, chunkSize), "chunk size " + chunkSize);
+        }
+        assertEquals(new RepositoryDTO("Hello-World", new Owner("octocat"), false,
+                "https://api.github.com/repos/octocat/Hello-World/branches{/branch}", "master"), expected.getFirst());
+    }
+
+    @Test
+    void testDecode_ReadsSingleBranchObject() {
+        for (int chunkSize : new int[]{1, 13, BRANCH_JSON.length()}) {
+            assertEquals(List.of(new Branch("main", new Commit("7fd1a60b01f91b314f59955a4e4d4e80d8edf11d"))),
+                    decode(BRANCH_JSON, Branch.class, chunkSize));
+        }
+    }
+
+    @Test
+    void testDecode_ReadsBranchList() {
+        String json = "[{\"name\":\"main\",\"commit\":{\"sha\":\"abc\",\"url\":\"u\"},\"protected\":false},"
+                + "{\"name\":\"dev\",\"commit\":null,\"protected\":true}]";
+
+        assertEquals(List.of(new Branch("main", new Commit("abc")), new Branch("dev", null)), decode(json, Branch.class, 5));
+        assertTrue(decode("[]", Branch.class, 1).isEmpty());
+    }
+
+    @Test
+    void testDecode_EnforcesLimitPerElementAndRejectsMalformedInput() {
+        GitHubJsonDecoder small = new GitHubJsonDecoder(64);
+
+        assertThrows(DataBufferLimitException.class, () -> decode(small, REPOSITORIES_JSON, RepositoryDTO.class, 16));
+        assertThrows(DecodingException.class, () -> decode("[{\"name\":\"broken\",}]", Branch.class, 4));
+    }
+
+    @Test
+    void testCanDecode_OnlyRepositoriesAndBranchesAsJson() {
+        assertTrue(decoder.canDecode(ResolvableType.forClass(RepositoryDTO.class), MediaType.APPLICATION_JSON));
+        assertTrue(decoder.canDecode(ResolvableType.forClass(Branch.class), MediaType.parseMediaType("application/vnd.github.v3+json")));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(Owner.class), MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(Branch.class), MediaType.TEXT_PLAIN));
+    }
+
+    private <T> List<Object> decode(String json, Class<T> type, int chunkSize) {
+        return decode(decoder, json, type, chunkSize);
+    }
+
+    private <T> List<Object> decode(GitHubJsonDecoder decoder, String json, Class<T> type, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize))));
+        }
+        return decoder.decode(Flux.fromIterable(buffers), ResolvableType.forClass(type), MediaType.APPLICATION_JSON, null)
+                .collectList()
+                .block();
+    }
+}
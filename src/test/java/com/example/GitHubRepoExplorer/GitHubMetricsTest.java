@@ -0,0 +1,105 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.metrics.RateLimitMetrics;
+import com.example.GitHubRepoExplorer.metrics.UpstreamMetricsFilter;
+import com.example.GitHubRepoExplorer.ratelimit.PooledToken;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitBudget;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitFilter;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.HotUsernames;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitHubMetricsTest {
+    private static final int REPOSITORIES = 3;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GitHubMetrics metrics = new GitHubMetrics(registry);
+
+    private GitHubApiStub stub;
+    private TokenPool tokenPool;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new GitHubApiStub(REPOSITORIES, Duration.ZERO).rateLimit(100);
+        tokenPool = new TokenPool(List.of(new PooledToken("",
+                new RateLimitBudget(100, 100, Duration.ofSeconds(1), 0, Clock.systemUTC()))),
+                Duration.ofMinutes(10), Clock.systemUTC());
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new RateLimitFilter(tokenPool, Clock.systemUTC()))
+                .filter(new UpstreamMetricsFilter(metrics))
+                .build();
+        GitHubApiClient gitHubApiClient = TestServices.client(webClient, TestServices.cache(Duration.ofMinutes(1), metrics));
+        gitHubService = TestServices.service(new RestRepositoryFetchStrategy(gitHubApiClient, REPOSITORIES), metrics, new HotUsernames(true, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testUpstreamCallsPerRequest_CountsOnlyCallsThatLeftTheProcess() {
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 30, 1);
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 30, 1);
+
+        DistributionSummary callsPerRequest = registry.get("github.upstream.calls.per.request").summary();
+        assertEquals(2, callsPerRequest.count());
+        assertEquals(1 + REPOSITORIES, callsPerRequest.max());
+        assertEquals(1 + REPOSITORIES, callsPerRequest.totalAmount());
+    }
+
+    @Test
+    void testBatch_IsRecordedAsOneRequest() {
+        gitHubService.getNonForkedRepositoriesByUsernames(List.of("first", "second"), 30, 1, false);
+
+        DistributionSummary callsPerRequest = registry.get("github.upstream.calls.per.request").summary();
+        assertEquals(1, callsPerRequest.count());
+        assertEquals(2 * (1 + REPOSITORIES), callsPerRequest.totalAmount());
+    }
+
+    @Test
+    void testLookupsAndUpstreamCalls_AreTaggedByEndpointStatusAndCacheOutcome() {
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 30, 1);
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 30, 1);
+
+        assertEquals(1, registry.get("github.upstream.requests")
+                .tags("endpoint", "repos", "method", "GET", "status", "200").timer().count());
+        assertEquals(REPOSITORIES, registry.get("github.upstream.requests")
+                .tags("endpoint", "branches", "status", "200").timer().count());
+        assertEquals(1, registry.get("github.api.requests")
+                .tags("endpoint", "repos", "cache", "miss", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("github.api.requests")
+                .tags("endpoint", "repos", "cache", "hit", "outcome", "success").timer().count());
+        assertEquals(REPOSITORIES, registry.get("github.api.requests")
+                .tags("endpoint", "branches", "cache", "hit").timer().count());
+    }
+
+    @Test
+    void testRateLimitGauges_ReportQuotaFromResponseHeaders() {
+        new RateLimitMetrics(tokenPool).bindTo(registry);
+        assertTrue(Double.isNaN(registry.get("github.rate-limit.remaining").gauge().value()));
+
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 30, 1);
+
+        assertEquals(100, registry.get("github.rate-limit.limit").tags("token", "anonymous").gauge().value());
+        assertEquals(100 - 1 - REPOSITORIES, registry.get("github.rate-limit.remaining").gauge().value());
+    }
+}
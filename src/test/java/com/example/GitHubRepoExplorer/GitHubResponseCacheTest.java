@@ -0,0 +1,133 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GitHubResponseCacheTest {
+    private static final String REPOS_URL = "/users/testUser/repos";
+    private static final String BRANCHES_URL = "https://api.github.com/repos/testUser/testRepo/branches";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void testGet_ServesRepeatedRequestsFromCache() {
+        GitHubResponseCache cache = new GitHubResponseCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(REPOS_URL, 30, 1);
+
+        List<String> first = cache.get(key, () -> load("repo")).block();
+        List<String> second = cache.get(key, () -> load("repo")).block();
+        List<String> otherPage = cache.get(new RequestKey(REPOS_URL, 30, 2), () -> load("repo")).block();
+
+        assertEquals(List.of("repo"), first);
+        assertEquals(first, second);
+        assertEquals(List.of("repo"), otherPage);
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void testGet_CoalescesConcurrentMisses() {
+        GitHubResponseCache cache = new GitHubResponseCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(BRANCHES_URL);
+
+        List<List<String>> results = Flux.range(0, 10)
+                .flatMap(i -> cache.get(key, () -> load("main").delayElement(Duration.ofMillis(100))))
+                .collectList()
+                .block();
+
+        assertEquals(10, results.size());
+        results.forEach(result -> assertEquals(List.of("main"), result));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGet_AppliesSeparateTtlPerEndpointType() throws InterruptedException {
+        GitHubResponseCache cache = new GitHubResponseCache(true, 100, Duration.ofMinutes(1), Duration.ofMillis(50), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey reposKey = new RequestKey(REPOS_URL, 30, 1);
+        RequestKey branchesKey = new RequestKey(BRANCHES_URL);
+
+        cache.get(reposKey, () -> load("repo")).block();
+        cache.get(branchesKey, () -> load("main")).block();
+        Thread.sleep(100);
+        cache.get(reposKey, () -> load("repo")).block();
+        cache.get(branchesKey, () -> load("main")).block();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testGet_DoesNotCacheErrors() {
+        GitHubResponseCache cache = new GitHubResponseCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(REPOS_URL, 30, 1);
+
+        cache.get(key, () -> Mono.<List<String>>error(new IllegalStateException("upstream failure")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        List<String> result = cache.get(key, () -> load("repo")).block();
+
+        assertEquals(List.of("repo"), result);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testGet_BypassesCacheWhenDisabled() {
+        GitHubResponseCache cache = new GitHubResponseCache(false, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(REPOS_URL, 30, 1);
+
+        cache.get(key, () -> load("repo")).block();
+        cache.get(key, () -> load("repo")).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void testGet_SharesConcurrentCallsWhenDisabled() {
+        GitHubResponseCache cache = new GitHubResponseCache(false, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(BRANCHES_URL);
+
+        List<List<String>> results = Flux.range(0, 10)
+                .flatMap(i -> cache.get(key, () -> load("main").delayElement(Duration.ofMillis(100))))
+                .collectList()
+                .block();
+
+        assertEquals(10, results.size());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void testGet_ServesStaleValueWhileUpstreamIsUnavailable() {
+        GitHubResponseCache cache = new GitHubResponseCache(false, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofHours(1), new GitHubMetrics(new SimpleMeterRegistry()));
+        RequestKey key = new RequestKey(REPOS_URL, 30, 1);
+        Mono<List<String>> unavailable = Mono.error(new UpstreamUnavailableException("GitHub API is unavailable", Duration.ZERO));
+
+        assertThrows(UpstreamUnavailableException.class, () -> cache.get(new RequestKey(REPOS_URL, 30, 2), () -> unavailable).block());
+        cache.get(key, () -> load("repo")).block();
+        List<String> stale = cache.get(key, () -> unavailable).block();
+
+        assertEquals(List.of("repo"), stale);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    private Mono<List<String>> load(String value) {
+        return Mono.fromCallable(() -> {
+            upstreamCalls.incrementAndGet();
+            return List.of(value);
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitHubServiceConcurrencyTest {
+    private static final int REPOSITORIES = 16;
+    private static final Duration BRANCH_LATENCY = Duration.ofMillis(100);
+
+    private GitHubApiStub stub;
+    private GitHubApiClient gitHubApiClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new GitHubApiStub(REPOSITORIES, BRANCH_LATENCY);
+        gitHubApiClient = TestServices.client(WebClient.builder().baseUrl(stub.baseUrl()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testBranchFanOut_KeepsUpstreamOrder() {
+        GitHubService gitHubService = TestServices.service(gitHubApiClient, REPOSITORIES);
+
+        List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername("testUser", 100, 1);
+
+        List<String> expectedNames = IntStream.range(0, REPOSITORIES).mapToObj(i -> "repo-" + i).toList();
+        assertEquals(expectedNames, repositories.stream().map(Repository::name).toList());
+        assertEquals("repo-0-sha", repositories.getFirst().branches().getFirst().commit().sha());
+        assertEquals(REPOSITORIES, stub.branchRequests());
+    }
+
+    @Test
+    void testBranchFanOut_LatencyScalesWithConcurrencyLimit() {
+        // warm up the connection pool so both runs measure only the fan-out
+        TestServices.service(gitHubApiClient, REPOSITORIES).getNonForkedRepositoriesByUsername("testUser", 100, 1);
+
+        long sequentialMillis = measure(TestServices.service(gitHubApiClient, 2));
+        long concurrentMillis = measure(TestServices.service(gitHubApiClient, REPOSITORIES));
+
+        // 16 repos with 2 in flight need 8 rounds, with 16 in flight a single round
+        assertTrue(sequentialMillis >= (REPOSITORIES / 2) * BRANCH_LATENCY.toMillis(),
+                "concurrency 2 took " + sequentialMillis + " ms");
+        assertTrue(concurrentMillis < sequentialMillis / 2,
+                "concurrency " + REPOSITORIES + " took " + concurrentMillis + " ms vs " + sequentialMillis + " ms");
+    }
+
+    @Test
+    void testNamedBranch_IsSentAsSingleEncodedPathSegment() {
+        GitHubService gitHubService = TestServices.service(gitHubApiClient, REPOSITORIES);
+        RepositoryQuery query = new RepositoryQuery(EnumSet.allOf(RepositoryField.class), "feature/x", null, RepositorySort.UPSTREAM);
+
+        List<Repository> repositories = gitHubService.getNonForkedRepositories("testUser", 1, 1, query).collectList().block();
+
+        assertEquals(List.of(), repositories.getFirst().branches());
+        assertEquals(List.of("/repos/testUser/repo-0/branches/feature%2Fx"), stub.branchPaths());
+    }
+
+    private long measure(GitHubService gitHubService) {
+        long start = System.nanoTime();
+        gitHubService.getNonForkedRepositoriesByUsername("testUser", 100, 1);
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
@@ -1,27 +1,37 @@
 package com.example.GitHubRepoExplorer;
 
 import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
 import com.example.GitHubRepoExplorer.domain.Owner;
 import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
 import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
 import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
 import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import reactor.core.publisher.Mono;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class GitHubServiceTest {
+    private static final int BRANCHES_CONCURRENCY = 4;
+
     @Mock
     private GitHubApiClient gitHubApiClient;
 
-    @InjectMocks
     private GitHubService gitHubService;
 
     @Captor
@@ -30,6 +40,7 @@ class GitHubServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        gitHubService = TestServices.service(gitHubApiClient, BRANCHES_CONCURRENCY);
     }
 
     @Test
@@ -43,22 +54,22 @@ class GitHubServiceTest {
         Owner owner = new Owner(ownerLogin);
         String branchesUrl = "http://api.github.com/repos/testUser/testRepo/branches{/branch}";
 
-        RepositoryDTO repoDTO = new RepositoryDTO(repoName, owner, false, branchesUrl);
+        RepositoryDTO repoDTO = new RepositoryDTO(repoName, owner, false, branchesUrl, "main");
         List<RepositoryDTO> repoDTOs = Collections.singletonList(repoDTO);
 
-        when(gitHubApiClient.makeApiRequest(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
-                .thenReturn(repoDTOs);
-        when(gitHubApiClient.makeApiRequest(anyString(), eq(Branch.class)))
-                .thenReturn(Collections.emptyList());
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
+                .thenReturn(Mono.just(repoDTOs));
+        when(gitHubApiClient.fetchAllAsync(anyString(), eq(Branch.class)))
+                .thenReturn(Mono.just(Collections.emptyList()));
 
         List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername(username, perPage, page);
 
-        verify(gitHubApiClient).makeApiRequest(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
+        verify(gitHubApiClient).makeApiRequestAsync(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
         assertTrue(urlCaptor.getValue().contains(username));
         assertEquals(1, repositories.size());
-        assertEquals(repoName, repositories.getFirst().getName());
-        assertEquals(ownerLogin, repositories.getFirst().getOwner().getLogin());
-        assertTrue(repositories.getFirst().getBranches().isEmpty());
+        assertEquals(repoName, repositories.getFirst().name());
+        assertEquals(ownerLogin, repositories.getFirst().owner().login());
+        assertTrue(repositories.getFirst().branches().isEmpty());
     }
 
     @Test
@@ -71,27 +82,27 @@ class GitHubServiceTest {
 
         List<RepositoryDTO> repoDTOs = getRepositoryDTOS(ownerLogin, repoName);
 
-        when(gitHubApiClient.makeApiRequest(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
-                .thenReturn(repoDTOs);
-        when(gitHubApiClient.makeApiRequest(anyString(), eq(Branch.class)))
-                .thenReturn(Collections.emptyList());
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
+                .thenReturn(Mono.just(repoDTOs));
+        when(gitHubApiClient.fetchAllAsync(anyString(), eq(Branch.class)))
+                .thenReturn(Mono.just(Collections.emptyList()));
 
         List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername(username, perPage, page);
 
-        verify(gitHubApiClient).makeApiRequest(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
+        verify(gitHubApiClient).makeApiRequestAsync(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
         assertTrue(urlCaptor.getValue().contains(username));
         assertEquals(1, repositories.size());
-        assertEquals(repoName, repositories.getFirst().getName());
-        assertEquals(ownerLogin, repositories.getFirst().getOwner().getLogin());
-        assertTrue(repositories.getFirst().getBranches().isEmpty());
+        assertEquals(repoName, repositories.getFirst().name());
+        assertEquals(ownerLogin, repositories.getFirst().owner().login());
+        assertTrue(repositories.getFirst().branches().isEmpty());
     }
 
     private List<RepositoryDTO> getRepositoryDTOS(String ownerLogin, String repoName) {
         Owner owner = new Owner(ownerLogin);
         String nonForkedBranchesUrl = "http://api.github.com/repos/testUser/testRepo/branches{/branch}";
-        RepositoryDTO nonForkedRepo = new RepositoryDTO(repoName, owner, false, nonForkedBranchesUrl);
+        RepositoryDTO nonForkedRepo = new RepositoryDTO(repoName, owner, false, nonForkedBranchesUrl, "main");
         String forkedBranchesUrl = "http://api.github.com/repos/testUser/forkedRepo/branches{/branch}";
-        RepositoryDTO forkedRepo = new RepositoryDTO("forkedRepo", owner, true, forkedBranchesUrl);
+        RepositoryDTO forkedRepo = new RepositoryDTO("forkedRepo", owner, true, forkedBranchesUrl, "main");
         return List.of(nonForkedRepo, forkedRepo);
     }
 
@@ -101,13 +112,75 @@ class GitHubServiceTest {
         int perPage = 10;
         int page = 1;
 
-        when(gitHubApiClient.makeApiRequest(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
-                .thenReturn(Collections.emptyList());
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(RepositoryDTO.class), eq(perPage), eq(page)))
+                .thenReturn(Mono.just(Collections.emptyList()));
 
         List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername(username, perPage, page);
 
-        verify(gitHubApiClient).makeApiRequest(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
+        verify(gitHubApiClient).makeApiRequestAsync(urlCaptor.capture(), eq(RepositoryDTO.class), eq(perPage), eq(page));
         assertTrue(urlCaptor.getValue().contains(username));
         assertTrue(repositories.isEmpty());
     }
+
+    @Test
+    void testGetNonForkedRepositoriesByUsername_NamesOnlySkipsBranchLookups() {
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(RepositoryDTO.class), eq(10), eq(1)))
+                .thenReturn(Mono.just(getRepositoryDTOS("testOwner", "testRepo")));
+        RepositoryQuery query = new RepositoryQuery(EnumSet.of(RepositoryField.NAME), RepositoryQuery.ALL_BRANCHES,
+                null, RepositorySort.UPSTREAM);
+
+        List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername("testUser", 10, 1, query);
+
+        verify(gitHubApiClient, never()).fetchAllAsync(anyString(), any());
+        verify(gitHubApiClient, never()).makeApiRequestAsync(anyString(), eq(Branch.class));
+        assertEquals(1, repositories.size());
+        assertEquals("testRepo", repositories.getFirst().name());
+        assertNull(repositories.getFirst().owner());
+        assertNull(repositories.getFirst().branches());
+    }
+
+    @Test
+    void testGetNonForkedRepositoriesByUsername_DefaultBranchFilteredAndSorted() {
+        Owner owner = new Owner("testOwner");
+        List<RepositoryDTO> repoDTOs = List.of(
+                new RepositoryDTO("alpha", owner, false, "http://api.github.com/repos/testOwner/alpha/branches{/branch}", "main"),
+                new RepositoryDTO("beta", owner, false, "http://api.github.com/repos/testOwner/beta/branches{/branch}", "trunk"),
+                new RepositoryDTO("other", owner, false, "http://api.github.com/repos/testOwner/other/branches{/branch}", "main"));
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(RepositoryDTO.class), eq(10), eq(1)))
+                .thenReturn(Mono.just(repoDTOs));
+        when(gitHubApiClient.makeApiRequestAsync(anyString(), eq(Branch.class)))
+                .thenAnswer(invocation -> Mono.just(List.of(new Branch("default", new Commit(invocation.getArgument(0))))));
+        RepositoryQuery query = new RepositoryQuery(EnumSet.allOf(RepositoryField.class), RepositoryQuery.DEFAULT_BRANCH,
+                "A", RepositorySort.NAME_DESC);
+
+        List<Repository> repositories = gitHubService.getNonForkedRepositoriesByUsername("testUser", 10, 1, query);
+
+        verify(gitHubApiClient, never()).fetchAllAsync(anyString(), any());
+        assertEquals(List.of("beta", "alpha"), repositories.stream().map(Repository::name).toList());
+        assertEquals("http://api.github.com/repos/testOwner/beta/branches/trunk",
+                repositories.getFirst().branches().getFirst().commit().sha());
+        assertEquals("http://api.github.com/repos/testOwner/alpha/branches/main",
+                repositories.getLast().branches().getFirst().commit().sha());
+    }
+
+    @Test
+    void testGetNonForkedRepositoriesByUsernames_ReportsErrorsPerUser() {
+        when(gitHubApiClient.makeApiRequestAsync(eq("/users/testUser/repos"), eq(RepositoryDTO.class), eq(30), eq(1)))
+                .thenReturn(Mono.just(getRepositoryDTOS("testUser", "testRepo")));
+        when(gitHubApiClient.makeApiRequestAsync(eq("/users/unknownUser/repos"), eq(RepositoryDTO.class), eq(30), eq(1)))
+                .thenReturn(Mono.error(new UserNotFoundException("User not found")));
+        when(gitHubApiClient.fetchAllAsync(anyString(), eq(Branch.class)))
+                .thenReturn(Mono.just(Collections.emptyList()));
+
+        List<UserRepositories> results = gitHubService.getNonForkedRepositoriesByUsernames(
+                List.of("testUser", "unknownUser", "testUser"), 30, 1, false);
+
+        verify(gitHubApiClient, times(1)).makeApiRequestAsync(eq("/users/testUser/repos"), eq(RepositoryDTO.class), eq(30), eq(1));
+        assertEquals(List.of("testUser", "unknownUser"), results.stream().map(UserRepositories::getUsername).toList());
+        assertEquals("testRepo", results.getFirst().getRepositories().getFirst().name());
+        assertNull(results.getFirst().getError());
+        assertNull(results.getLast().getRepositories());
+        assertEquals(404, results.getLast().getError().getStatus());
+        assertEquals("User not found", results.getLast().getError().getMessage());
+    }
 }
@@ -0,0 +1,100 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.service.GraphQlRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphQlRepositoryFetchStrategyTest {
+    private static final String USERNAME = "testUser";
+    private static final int MAX_PAGES = 10;
+
+    private GitHubApiStub stub;
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testGetNonForkedRepositories_MatchesRestPageWindows() throws Exception {
+        stub = new GitHubApiStub(12, 3, Duration.ZERO).forks(3);
+        GitHubApiClient gitHubApiClient = client();
+        RestRepositoryFetchStrategy rest = new RestRepositoryFetchStrategy(gitHubApiClient, 4);
+        GraphQlRepositoryFetchStrategy graphQl = graphQl(gitHubApiClient);
+
+        for (int page = 1; page <= 4; page++) {
+            List<Repository> expected = rest.getNonForkedRepositories(USERNAME, 5, page, RepositoryQuery.defaults()).collectList().block();
+            List<Repository> actual = graphQl.getNonForkedRepositories(USERNAME, 5, page, RepositoryQuery.defaults()).collectList().block();
+            assertEquals(expected, actual);
+        }
+        assertEquals(List.of(), graphQl.getNonForkedRepositories(USERNAME, 5, 4, RepositoryQuery.defaults()).collectList().block());
+    }
+
+    @Test
+    void testGetAllNonForkedRepositories_MatchesRestWithFewerCalls() throws Exception {
+        stub = new GitHubApiStub(230, 2, Duration.ZERO).forks(10);
+        GitHubApiClient gitHubApiClient = client();
+
+        List<Repository> expected = new RestRepositoryFetchStrategy(gitHubApiClient, 4)
+                .getAllNonForkedRepositories(USERNAME, RepositoryQuery.defaults()).collectList().block();
+        List<Repository> actual = graphQl(gitHubApiClient).getAllNonForkedRepositories(USERNAME, RepositoryQuery.defaults()).collectList().block();
+
+        assertEquals(207, actual.size());
+        assertEquals(expected, actual);
+        assertEquals(3, stub.graphQlRequests());
+        assertTrue(stub.repositoryRequests() + stub.branchRequests() > 200);
+    }
+
+    @Test
+    void testGetAllNonForkedRepositories_PagesThroughLargeBranchLists() throws Exception {
+        stub = new GitHubApiStub(2, 250, Duration.ZERO);
+        GitHubApiClient gitHubApiClient = client();
+
+        List<Repository> expected = new RestRepositoryFetchStrategy(gitHubApiClient, 4)
+                .getAllNonForkedRepositories(USERNAME, RepositoryQuery.defaults()).collectList().block();
+        List<Repository> actual = graphQl(gitHubApiClient).getAllNonForkedRepositories(USERNAME, RepositoryQuery.defaults()).collectList().block();
+
+        assertEquals(250, actual.getFirst().branches().size());
+        assertEquals(expected, actual);
+        assertEquals(5, stub.graphQlRequests());
+    }
+
+    @Test
+    void testGetAllNonForkedRepositories_AppliesQueryLikeRest() throws Exception {
+        stub = new GitHubApiStub(30, 3, Duration.ZERO);
+        GitHubApiClient gitHubApiClient = client();
+        RepositoryQuery query = new RepositoryQuery(EnumSet.allOf(RepositoryField.class), RepositoryQuery.DEFAULT_BRANCH,
+                "-1", RepositorySort.UPSTREAM);
+
+        List<Repository> expected = new RestRepositoryFetchStrategy(gitHubApiClient, 4)
+                .getAllNonForkedRepositories(USERNAME, query).collectList().block();
+        List<Repository> actual = graphQl(gitHubApiClient).getAllNonForkedRepositories(USERNAME, query).collectList().block();
+
+        assertEquals(11, actual.size());
+        assertEquals(expected, actual);
+        assertEquals("main", actual.getFirst().branches().getFirst().name());
+    }
+
+    private GraphQlRepositoryFetchStrategy graphQl(GitHubApiClient gitHubApiClient) {
+        return new GraphQlRepositoryFetchStrategy(gitHubApiClient, TestServices.disabledCache(), 4, MAX_PAGES);
+    }
+
+    private GitHubApiClient client() {
+        return TestServices.client(WebClient.builder().baseUrl(stub.baseUrl()).build(),
+                TestServices.disabledCache(), TestServices.localOnly(), MAX_PAGES);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the retained heap of a million cached branches in the compact domain model against the previous
+ * layout of mutable beans holding one fresh string per name, login and SHA, as a JSON decoder produces them.
+ * It does not match the surefire naming pattern, so it only runs on request:
+ * {@code mvn test -Dtest=HeapFootprintHarness -Dheap.repositories=10000 -Dheap.branches=100}.
+ */
+class HeapFootprintHarness {
+    private static final int REPOSITORIES = Integer.getInteger("heap.repositories", 10_000);
+    private static final int BRANCHES = Integer.getInteger("heap.branches", 100);
+    private static final String[] COMMON_NAMES = {"main", "master", "develop", "gh-pages", "release"};
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void reportRetainedHeap() {
+        long legacy = retained(this::legacy);
+        long compact = retained(this::compact);
+        long branches = (long) REPOSITORIES * BRANCHES;
+
+        System.out.printf("%-8s %12s %14s%n", "layout", "MB", "bytes/branch");
+        System.out.printf("%-8s %12.1f %14.1f%n", "legacy", legacy / 1_048_576.0, (double) legacy / branches);
+        System.out.printf("%-8s %12.1f %14.1f%n", "compact", compact / 1_048_576.0, (double) compact / branches);
+        assertTrue(compact < legacy, "Compact model should retain less heap");
+    }
+
+    private long retained(Supplier<List<?>> build) {
+        long before = usedAfterGc();
+        List<?> data = build.get();
+        long after = usedAfterGc();
+        Reference.reachabilityFence(data);
+        return after - before;
+    }
+
+    private List<LegacyRepository> legacy() {
+        List<LegacyRepository> repositories = new ArrayList<>(REPOSITORIES);
+        for (int r = 0; r < REPOSITORIES; r++) {
+            List<LegacyBranch> branches = new ArrayList<>(BRANCHES);
+            for (int b = 0; b < BRANCHES; b++) {
+                branches.add(new LegacyBranch(branchName(b), new LegacyCommit(sha(r, b))));
+            }
+            repositories.add(new LegacyRepository(fresh("repo-" + r), new LegacyOwner(fresh("octocat")), branches));
+        }
+        return repositories;
+    }
+
+    private List<Repository> compact() {
+        List<Repository> repositories = new ArrayList<>(REPOSITORIES);
+        for (int r = 0; r < REPOSITORIES; r++) {
+            List<Branch> branches = new ArrayList<>(BRANCHES);
+            for (int b = 0; b < BRANCHES; b++) {
+                branches.add(new Branch(branchName(b), new Commit(sha(r, b))));
+            }
+            repositories.add(new Repository(fresh("repo-" + r), Owner.of(fresh("octocat")), branches));
+        }
+        return repositories;
+    }
+
+    /**
+     * A few names every repository has, the rest follow naming conventions that repeat across repositories.
+     */
+    private String branchName(int branch) {
+        return branch < COMMON_NAMES.length ? fresh(COMMON_NAMES[branch]) : fresh("feature/branch-" + branch);
+    }
+
+    private String sha(int repository, int branch) {
+        return "%020x%020x".formatted(repository * 1_000_003L, branch * 7_919L + 1);
+    }
+
+    private String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private record LegacyRepository(String name, LegacyOwner owner, List<LegacyBranch> branches) {
+    }
+
+    private record LegacyOwner(String login) {
+    }
+
+    private record LegacyBranch(String name, LegacyCommit commit) {
+    }
+
+    private record LegacyCommit(String sha) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.GitHubRepoExplorer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@code /api/repos/{username}} against {@link GitHubApiStub} and prints throughput and p50/p95/p99
+ * latency per mode and concurrency level. It does not match the surefire naming pattern, so it only runs on
+ * request: {@code mvn test -Dtest=LoadTestHarness -Dloadtest.concurrency=1,16,64}.
+ * <p>
+ * {@code virtual} runs the servlet stack on virtual threads, {@code concurrent} is the same stack on Tomcat's
+ * platform thread pool. Clients are virtual threads, so levels in the thousands are possible, for example
+ * {@code -Dloadtest.modes=concurrent,virtual -Dloadtest.concurrency=1000,5000,10000 -Dloadtest.requests=20000}.
+ * Each level needs about two file descriptors per concurrent request.
+ * <p>
+ * System properties: {@code loadtest.modes}, {@code loadtest.concurrency}, {@code loadtest.requests},
+ * {@code loadtest.users}, {@code loadtest.repositories}, {@code loadtest.branches}, {@code loadtest.latency-ms},
+ * {@code loadtest.error-rate}, {@code loadtest.payload-bytes} and {@code loadtest.rate-limit}.
+ */
+class LoadTestHarness {
+    private static final List<Mode> MODES = Arrays.stream(System.getProperty("loadtest.modes", "blocking,concurrent,virtual,reactive").split(","))
+            .map(mode -> Mode.valueOf(mode.trim().toUpperCase()))
+            .toList();
+    private static final List<Integer> CONCURRENCY = Arrays.stream(System.getProperty("loadtest.concurrency", "1,8,32").split(","))
+            .map(level -> Integer.parseInt(level.trim()))
+            .toList();
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 200);
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int REPOSITORIES = Integer.getInteger("loadtest.repositories", 20);
+    private static final int BRANCHES = Integer.getInteger("loadtest.branches", 5);
+    private static final Duration LATENCY = Duration.ofMillis(Integer.getInteger("loadtest.latency-ms", 20));
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.error-rate", "0"));
+    private static final int PAYLOAD_BYTES = Integer.getInteger("loadtest.payload-bytes", 512);
+    private static final int RATE_LIMIT = Integer.getInteger("loadtest.rate-limit", -1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void reportThroughputAndLatency() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-11s %11s %10s %9s %9s %9s %7s", "mode", "concurrency", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors"));
+        try (GitHubApiStub stub = new GitHubApiStub(REPOSITORIES, BRANCHES, LATENCY)
+                .repositoryLatency(LATENCY)
+                .errorRate(ERROR_RATE)
+                .payloadPadding(PAYLOAD_BYTES)) {
+            if (RATE_LIMIT >= 0) {
+                stub.rateLimit(RATE_LIMIT);
+            }
+            for (Mode mode : MODES) {
+                try (ConfigurableApplicationContext application = start(mode, stub)) {
+                    int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                    drive(port, CONCURRENCY.getLast(), REQUESTS / 5);
+                    for (int concurrency : CONCURRENCY) {
+                        Result result = drive(port, concurrency, REQUESTS);
+                        report.add(String.format("%-11s %11d %10.1f %9.1f %9.1f %9.1f %7d", mode.name().toLowerCase(), concurrency,
+                                result.throughput(), result.percentile(50), result.percentile(95), result.percentile(99), result.errors()));
+                        if (ERROR_RATE == 0 && RATE_LIMIT < 0) {
+                            assertTrue(result.errors() == 0, "Unexpected errors in " + mode + " at concurrency " + concurrency);
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println(String.join(System.lineSeparator(), report));
+    }
+
+    private ConfigurableApplicationContext start(Mode mode, GitHubApiStub stub) {
+        // Command line arguments, unlike default properties, take precedence over application.properties
+        return new SpringApplicationBuilder(GitHubRepoExplorerApplication.class).run(
+                "--server.port=0",
+                "--spring.main.web-application-type=" + mode.webApplicationType,
+                "--spring.threads.virtual.enabled=" + mode.virtualThreads,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--github.branches.concurrency=" + mode.branchesConcurrency,
+                "--github.api.url=" + stub.baseUrl(),
+                "--github.cache.enabled=false",
+                "--github.etag.enabled=false",
+                "--github.warming.enabled=false",
+                "--github.rate-limit.requests-per-second=1000000",
+                "--github.rate-limit.burst=1000000",
+                "--github.http.max-connections=1000",
+                "--github.http.pending-acquire-max-count=10000",
+                "--github.resilience.bulkhead.max-concurrent-calls=10000");
+    }
+
+    private Result drive(int port, int concurrency, int requests) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                running.add(workers.submit(() -> {
+                    for (int request = next.getAndIncrement(); request < requests; request = next.getAndIncrement()) {
+                        latencies[request] = call(port, "user-" + request % USERS, errors);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        return new Result(latencies, System.nanoTime() - start, errors.get());
+    }
+
+    private long call(int port, String username, AtomicInteger errors) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/repos/" + username))
+                .header("Accept", "application/json")
+                .build();
+        long start = System.nanoTime();
+        try {
+            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                errors.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // Refused or reset connections at high concurrency count as errors of the level
+            errors.incrementAndGet();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private enum Mode {
+        BLOCKING("servlet", 1, false),
+        CONCURRENT("servlet", 8, false),
+        VIRTUAL("servlet", 8, true),
+        REACTIVE("reactive", 8, false);
+
+        private final String webApplicationType;
+        private final int branchesConcurrency;
+        private final boolean virtualThreads;
+
+        Mode(String webApplicationType, int branchesConcurrency, boolean virtualThreads) {
+            this.webApplicationType = webApplicationType;
+            this.branchesConcurrency = branchesConcurrency;
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, int errors) {
+        Result {
+            latencies = latencies.clone();
+            Arrays.sort(latencies);
+        }
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.ETagRevalidationFilter;
+import com.example.GitHubRepoExplorer.cache.InMemoryResponseStore;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import com.example.GitHubRepoExplorer.exception.UpstreamAuthenticationException;
+import com.example.GitHubRepoExplorer.ratelimit.PooledToken;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitBudget;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitFilter;
+import com.example.GitHubRepoExplorer.ratelimit.RequestPriority;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+    private static final String REPOS_URL = "/users/testUser/repos";
+
+    private GitHubApiStub stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void testFilter_FailsFastOnceQuotaIsSpent() throws Exception {
+        stub = new GitHubApiStub(1, Duration.ZERO).rateLimit(2);
+        RateLimitBudget budget = budget(100, 100, Duration.ofSeconds(1), 0);
+        GitHubApiClient gitHubApiClient = client(budget);
+
+        gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1);
+        gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 2);
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 3));
+
+        assertEquals(0, budget.getRemaining());
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(59)) > 0);
+        assertEquals(2, stub.repositoryRequests());
+    }
+
+    @Test
+    void testFilter_RejectsUpstream403AndBlocksFurtherCalls() throws Exception {
+        stub = new GitHubApiStub(1, Duration.ZERO).rateLimit(0);
+        GitHubApiClient gitHubApiClient = client(budget(100, 100, Duration.ofSeconds(1), 0));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1));
+        assertThrows(RateLimitExceededException.class,
+                () -> gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 2));
+
+        assertEquals(1, stub.repositoryRequests());
+    }
+
+    @Test
+    void testFilter_BlocksForRetryAfterMeasuredWithInjectedClock() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        RateLimitBudget budget = new RateLimitBudget(100, 100, Duration.ofSeconds(1), 0, clock);
+        RateLimitFilter filter = new RateLimitFilter(new TokenPool(List.of(new PooledToken("", budget)), Duration.ofMinutes(10), clock), clock);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://api.github.com" + REPOS_URL)).build();
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class, () -> filter.filter(request,
+                        signed -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "30").build()))
+                .block());
+
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        assertEquals(Duration.ofSeconds(30), assertThrows(RateLimitExceededException.class,
+                () -> budget.reserve(RequestPriority.NORMAL)).getRetryAfter());
+    }
+
+    @Test
+    void testFilter_RefundsNotModifiedResponses() throws Exception {
+        stub = new GitHubApiStub(1, Duration.ZERO);
+        // Two slots and practically no refill, a third call only fits when 304s give their slot back
+        RateLimitBudget budget = budget(0.001, 2, Duration.ofSeconds(1), 0);
+        TokenPool tokenPool = new TokenPool(List.of(new PooledToken("", budget)), Duration.ofMinutes(10), Clock.systemUTC());
+        GitHubApiClient gitHubApiClient = TestServices.client(WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new ETagRevalidationFilter(new InMemoryResponseStore(DataSize.ofMegabytes(1))))
+                .filter(new RateLimitFilter(tokenPool, Clock.systemUTC()))
+                .build());
+
+        for (int request = 0; request < 3; request++) {
+            assertEquals(1, gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1).size());
+        }
+
+        assertEquals(2, stub.notModifiedResponses());
+    }
+
+    @Test
+    void testReserve_QueuesWithinMaxWaitAndShedsBeyond() {
+        RateLimitBudget budget = budget(10, 1, Duration.ofMillis(150), 0);
+
+        assertEquals(Duration.ZERO, budget.reserve(RequestPriority.NORMAL));
+        Duration wait = budget.reserve(RequestPriority.NORMAL);
+        assertTrue(wait.compareTo(Duration.ZERO) > 0 && wait.compareTo(Duration.ofMillis(100)) <= 0);
+        assertThrows(RateLimitExceededException.class, () -> budget.reserve(RequestPriority.NORMAL));
+    }
+
+    @Test
+    void testReserve_ShedsLowPriorityBelowReserve() {
+        RateLimitBudget budget = budget(100, 100, Duration.ofSeconds(1), 10);
+        budget.update(5000, 10, Instant.now().plusSeconds(600));
+
+        assertThrows(RateLimitExceededException.class, () -> budget.reserve(RequestPriority.LOW));
+        assertEquals(Duration.ZERO, budget.reserve(RequestPriority.NORMAL));
+    }
+
+    @Test
+    void testReserve_HonoursRetryAfter() {
+        RateLimitBudget budget = budget(100, 100, Duration.ofSeconds(1), 0);
+        budget.blockUntil(Instant.now().plusSeconds(30));
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> budget.reserve(RequestPriority.NORMAL));
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(25)) > 0);
+    }
+
+    @Test
+    void testTokenPool_PrefersTokenWithMostRemainingQuota() throws Exception {
+        stub = new GitHubApiStub(1, Duration.ZERO).rateLimit(3);
+        PooledToken first = new PooledToken("first-token", budget(100, 100, Duration.ofSeconds(1), 0));
+        PooledToken second = new PooledToken("second-token", budget(100, 100, Duration.ofSeconds(1), 0));
+        GitHubApiClient gitHubApiClient = client(new TokenPool(List.of(first, second), Duration.ofMinutes(10), Clock.systemUTC()));
+
+        for (int page = 1; page <= 6; page++) {
+            gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, page);
+        }
+
+        assertEquals(3, stub.requestsWithToken("first-token"));
+        assertEquals(3, stub.requestsWithToken("second-token"));
+        assertThrows(RateLimitExceededException.class,
+                () -> gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 7));
+    }
+
+    @Test
+    void testTokenPool_QuarantinesRevokedTokenAndRetriesWithNext() throws Exception {
+        stub = new GitHubApiStub(1, Duration.ZERO).revokeToken("revoked-token");
+        TokenPool tokenPool = new TokenPool(List.of(
+                new PooledToken("revoked-token", budget(100, 100, Duration.ofSeconds(1), 0)),
+                new PooledToken("valid-token", budget(100, 100, Duration.ofSeconds(1), 0))),
+                Duration.ofMinutes(10), Clock.systemUTC());
+        GitHubApiClient gitHubApiClient = client(tokenPool);
+
+        List<RepositoryDTO> first = gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 1);
+        gitHubApiClient.makeApiRequest(REPOS_URL, RepositoryDTO.class, 30, 2);
+
+        assertEquals(1, first.size());
+        assertEquals(1, stub.requestsWithToken("revoked-token"));
+        assertEquals(2, stub.requestsWithToken("valid-token"));
+        assertTrue(tokenPool.getTokens().getFirst().isQuarantined(Instant.now()));
+    }
+
+    @Test
+    void testTokenPool_ReportsRejectedTokensOnceAllAreQuarantined() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        TokenPool tokenPool = new TokenPool(List.of(
+                new PooledToken("first-token", budget(100, 100, Duration.ofSeconds(1), 0)),
+                new PooledToken("second-token", budget(100, 100, Duration.ofSeconds(1), 0))),
+                Duration.ofMinutes(10), clock);
+
+        tokenPool.getTokens().forEach(tokenPool::quarantine);
+        UpstreamAuthenticationException exception = assertThrows(UpstreamAuthenticationException.class,
+                () -> tokenPool.reserve(RequestPriority.NORMAL));
+
+        assertEquals(Duration.ofMinutes(10), exception.getRetryAfter());
+    }
+
+    private RateLimitBudget budget(double requestsPerSecond, int burst, Duration maxQueueWait, int lowPriorityReserve) {
+        return new RateLimitBudget(requestsPerSecond, burst, maxQueueWait, lowPriorityReserve, Clock.systemUTC());
+    }
+
+    private GitHubApiClient client(RateLimitBudget budget) {
+        return client(new TokenPool(List.of(new PooledToken("", budget)), Duration.ofMinutes(10), Clock.systemUTC()));
+    }
+
+    private GitHubApiClient client(TokenPool tokenPool) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new RateLimitFilter(tokenPool, Clock.systemUTC()))
+                .build();
+        return TestServices.client(webClient);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.RepositoryChanges;
+import com.example.GitHubRepoExplorer.domain.UserRepositories;
+import com.example.GitHubRepoExplorer.exception.ErrorResponse;
+import com.example.GitHubRepoExplorer.exception.RateLimitExceededException;
+import com.example.GitHubRepoExplorer.exception.UserNotFoundException;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+class ReactiveGitHubControllerTest {
+    private static final String MEDIA_TYPE = "application/json";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private GitHubService gitHubService;
+
+    @Test
+    void shouldReturnRepositories() {
+        Repository repository = new Repository("testRepo", new Owner("testUser"),
+                List.of(new Branch("main", new Commit("abc123"))));
+        when(gitHubService.getNonForkedRepositories("testUser", 30, 1, RepositoryQuery.defaults())).thenReturn(Flux.just(repository));
+
+        webTestClient.get().uri("/api/repos/testUser")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("[{\"name\":\"testRepo\",\"owner\":{\"login\":\"testUser\"},\"branches\":[{\"name\":\"main\",\"commit\":{\"sha\":\"abc123\"}}]}]");
+    }
+
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWithNotModified() {
+        Repository repository = new Repository("testRepo", new Owner("etagUser"),
+                List.of(new Branch("main", new Commit("abc123"))));
+        when(gitHubService.getNonForkedRepositories("etagUser", 30, 1, RepositoryQuery.defaults())).thenReturn(Flux.just(repository));
+
+        String etag = webTestClient.get().uri("/api/repos/etagUser")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Vary", "Accept-Encoding")
+                .expectBody().returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/repos/etagUser")
+                .header("Accept", MEDIA_TYPE)
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldReturnChangesSinceCursor() {
+        when(gitHubService.getAllNonForkedRepositories("changesUser")).thenReturn(
+                Flux.just(new Repository("testRepo", new Owner("changesUser"), List.of(new Branch("main", new Commit("abc123"))))),
+                Flux.just(new Repository("testRepo", new Owner("changesUser"), List.of(new Branch("main", new Commit("def456"))))));
+
+        RepositoryChanges first = webTestClient.get().uri("/api/repos/changesUser/changes")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RepositoryChanges.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.get().uri("/api/repos/changesUser/changes?since=" + first.getCursor())
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.complete").isEqualTo(false)
+                .jsonPath("$.added").isEmpty()
+                .jsonPath("$.changed[0].name").isEqualTo("testRepo")
+                .jsonPath("$.changed[0].branches[0].commit.sha").isEqualTo("def456")
+                .jsonPath("$.removed").isEmpty();
+    }
+
+    @Test
+    void shouldPassQueryOptionsAndOmitUnselectedFields() {
+        RepositoryQuery query = new RepositoryQuery(EnumSet.of(RepositoryField.NAME), "main", "repo", RepositorySort.NAME_DESC);
+        when(gitHubService.getNonForkedRepositories("testUser", 30, 1, query))
+                .thenReturn(Flux.just(new Repository("testRepo", null, null)));
+
+        webTestClient.get().uri("/api/repos/testUser?fields=name&branch=main&name=repo&sort=name&direction=desc")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("[{\"name\":\"testRepo\"}]", true);
+    }
+
+    @Test
+    void shouldThrowInvalidFieldsParamException() {
+        webTestClient.get().uri("/api/repos/testUser?fields=name,stars")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .json("{\"status\":400,\"message\":\"Invalid fields parameter\"}");
+    }
+
+    @Test
+    void shouldRejectBranchesThatAreNotValidRefNames() {
+        for (String branch : List.of("../../../orgs/x", "a?per_page=1", "feature branch", "main.lock", "/main", "a//b", "@")) {
+            webTestClient.get().uri(builder -> builder.path("/api/repos/testUser").queryParam("branch", "{branch}").build(branch))
+                    .header("Accept", MEDIA_TYPE)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .json("{\"status\":400,\"message\":\"Invalid branch parameter\"}");
+        }
+    }
+
+    @Test
+    void shouldReturnPerUserResultsForBatch() {
+        when(gitHubService.getNonForkedRepositoriesForUsers(List.of("testUser", "unknownUser"), 30, 1, false))
+                .thenReturn(Flux.just(
+                        new UserRepositories("testUser", List.of(new Repository("testRepo", new Owner("testUser"), List.of())), null),
+                        new UserRepositories("unknownUser", null, new ErrorResponse(404, "User not found"))));
+
+        webTestClient.post().uri("/api/repos:batch")
+                .header("Accept", MEDIA_TYPE)
+                .header("Content-Type", MEDIA_TYPE)
+                .bodyValue("{\"usernames\":[\"testUser\",\"unknownUser\"]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("[{\"username\":\"testUser\",\"repositories\":[{\"name\":\"testRepo\",\"owner\":{\"login\":\"testUser\"},\"branches\":[]}]},"
+                        + "{\"username\":\"unknownUser\",\"error\":{\"status\":404,\"message\":\"User not found\"}}]", true);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        webTestClient.post().uri("/api/repos:batch")
+                .header("Accept", MEDIA_TYPE)
+                .header("Content-Type", MEDIA_TYPE)
+                .bodyValue("{\"usernames\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .json("{\"status\":400,\"message\":\"Invalid usernames parameter\"}");
+    }
+
+    @Test
+    void shouldThrowInvalidAcceptHeaderException() {
+        webTestClient.get().uri("/api/repos/testUser")
+                .header("Accept", "text/plain")
+                .exchange()
+                .expectStatus().isEqualTo(406)
+                .expectBody()
+                .json("{\"status\":406,\"message\":\"Invalid Accept header\"}");
+    }
+
+    @Test
+    void shouldThrowInvalidParamException() {
+        webTestClient.get().uri("/api/repos/testUser?per_page=101")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .json("{\"status\":400,\"message\":\"Invalid per_page parameter\"}");
+    }
+
+    @Test
+    void shouldThrowUserNotFoundException() {
+        when(gitHubService.getNonForkedRepositories("unknownUser", 30, 1, RepositoryQuery.defaults()))
+                .thenReturn(Flux.error(new UserNotFoundException("User not found")));
+
+        webTestClient.get().uri("/api/repos/unknownUser")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .json("{\"status\":404,\"message\":\"User not found\"}");
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenRateLimited() {
+        when(gitHubService.getNonForkedRepositories("testUser", 30, 1, RepositoryQuery.defaults()))
+                .thenReturn(Flux.error(new RateLimitExceededException("GitHub API rate limit exceeded", Duration.ofMillis(1500))));
+
+        webTestClient.get().uri("/api/repos/testUser")
+                .header("Accept", MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "2")
+                .expectBody()
+                .json("{\"status\":503,\"message\":\"GitHub API rate limit exceeded\"}");
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.CountMinSketch;
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.metrics.UpstreamMetricsFilter;
+import com.example.GitHubRepoExplorer.ratelimit.PooledToken;
+import com.example.GitHubRepoExplorer.ratelimit.RateLimitBudget;
+import com.example.GitHubRepoExplorer.ratelimit.TokenPool;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.HotUsernames;
+import com.example.GitHubRepoExplorer.service.RefreshAheadWarmer;
+import com.example.GitHubRepoExplorer.service.RepositoryField;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RepositorySort;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RefreshAheadWarmerTest {
+    private static final int REPOSITORIES = 3;
+    private static final int MINIMUM_FREQUENCY = 3;
+
+    private final GitHubMetrics metrics = new GitHubMetrics(new SimpleMeterRegistry());
+    private final HotUsernames hotUsernames = new HotUsernames(true, 100);
+
+    private GitHubApiStub stub;
+    private RestRepositoryFetchStrategy fetchStrategy;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new GitHubApiStub(REPOSITORIES, Duration.ZERO);
+        GitHubResponseCache cache = TestServices.cache(Duration.ofMinutes(1), metrics);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .filter(new UpstreamMetricsFilter(metrics))
+                .build();
+        GitHubApiClient gitHubApiClient = TestServices.client(webClient, cache);
+        fetchStrategy = new RestRepositoryFetchStrategy(gitHubApiClient, REPOSITORIES);
+        gitHubService = TestServices.service(fetchStrategy, metrics, hotUsernames);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void testWarm_RefreshesOnlyHotUsersAndKeepsServingFromCache() {
+        for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+            gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1);
+        }
+        gitHubService.getNonForkedRepositoriesByUsername("coldUser", 30, 1);
+
+        int calls = warmer(Duration.ofMinutes(2), 1.0).warm();
+        gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1);
+
+        assertEquals(1 + REPOSITORIES, calls);
+        assertEquals(3, stub.repositoryRequests());
+        assertEquals(3 * REPOSITORIES, stub.branchRequests());
+    }
+
+    @Test
+    void testWarm_SkipsEntriesThatDoNotExpireSoon() {
+        for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+            gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1);
+        }
+
+        assertEquals(0, warmer(Duration.ofSeconds(1), 1.0).warm());
+        assertEquals(1, stub.repositoryRequests());
+    }
+
+    @Test
+    void testWarm_StaysWithinBudgetShare() {
+        for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+            gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1);
+        }
+
+        assertEquals(0, warmer(Duration.ofMinutes(2), 0.0).warm());
+        assertEquals(1, stub.repositoryRequests());
+    }
+
+    @Test
+    void testWarm_StaysUnderShareOfGitHubQuotaAcrossRounds() {
+        for (String user : List.of("first", "second", "third")) {
+            for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+                gitHubService.getNonForkedRepositoriesByUsername(user, 30, 1);
+            }
+        }
+        // A fifth of 5 calls per round is 1 call, while every user costs 1 + REPOSITORIES calls
+        RefreshAheadWarmer warmer = warmer(Duration.ofMinutes(2), 0.2);
+
+        int calls = 0;
+        for (int round = 0; round < 8; round++) {
+            calls += warmer.warm();
+        }
+
+        assertEquals(8, calls);
+    }
+
+    @Test
+    void testWarm_RepeatsTheRequestedQuery() {
+        RepositoryQuery namesOnly = new RepositoryQuery(EnumSet.of(RepositoryField.NAME), RepositoryQuery.ALL_BRANCHES, null,
+                RepositorySort.UPSTREAM);
+        for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+            gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1, namesOnly);
+        }
+        // Caffeine starts the expiry of a loaded entry in a callback that may still run after the request returned,
+        // until then the entry looks like it never expires. Another round trip gives that callback time to finish.
+        gitHubService.getNonForkedRepositoriesByUsername("coldUser", 30, 1);
+
+        int calls = warmer(Duration.ofMinutes(2), 1.0).warm();
+
+        assertEquals(1, calls);
+        assertEquals(3, stub.repositoryRequests());
+        assertEquals(REPOSITORIES, stub.branchRequests());
+    }
+
+    @Test
+    void testWarm_SkipsRoundWhileQuotaIsUnknown() {
+        for (int i = 0; i < MINIMUM_FREQUENCY; i++) {
+            gitHubService.getNonForkedRepositoriesByUsername("hotUser", 30, 1);
+        }
+        TokenPool tokenPool = new TokenPool(List.of(new PooledToken("",
+                new RateLimitBudget(100, 100, Duration.ofSeconds(1), 0, Clock.systemUTC()))),
+                Duration.ofMinutes(10), Clock.systemUTC());
+
+        assertEquals(0, new RefreshAheadWarmer(fetchStrategy, hotUsernames, metrics, tokenPool, true, Duration.ofSeconds(5),
+                Duration.ofMinutes(2), MINIMUM_FREQUENCY, 1.0).warm());
+    }
+
+    @Test
+    void testHotUsernames_ReplacesLeastFrequentCandidate() {
+        HotUsernames tracker = new HotUsernames(true, 2);
+        HotUsernames.Target first = new HotUsernames.Target("first", 30, 1, false, RepositoryQuery.defaults());
+        HotUsernames.Target second = new HotUsernames.Target("second", 30, 1, false, RepositoryQuery.defaults());
+        HotUsernames.Target third = HotUsernames.Target.allPages("third", RepositoryQuery.defaults());
+        record(tracker, first, 5);
+        record(tracker, second, 3);
+        record(tracker, third, 1);
+
+        assertEquals(List.of(first, second), tracker.hottest(1));
+
+        record(tracker, third, 5);
+
+        assertEquals(List.of(third, first), tracker.hottest(1));
+    }
+
+    @Test
+    void testHotUsernames_SamplesVictimWhenFull() {
+        HotUsernames tracker = new HotUsernames(true, 100);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(HotUsernames.Target.allPages("user-" + i, RepositoryQuery.defaults()));
+        }
+        HotUsernames.Target hot = HotUsernames.Target.allPages("hot", RepositoryQuery.defaults());
+        record(tracker, hot, 5);
+
+        assertEquals(List.of(hot), tracker.hottest(2));
+        assertEquals(100, tracker.hottest(0).size());
+    }
+
+    @Test
+    void testHotUsernames_RecordsNothingWhenWarmingIsDisabled() {
+        HotUsernames tracker = new HotUsernames(false, 2);
+        record(tracker, HotUsernames.Target.allPages("first", RepositoryQuery.defaults()), 5);
+
+        assertEquals(List.of(), tracker.hottest(0));
+    }
+
+    @Test
+    void testCountMinSketch_CountsConcurrentIncrementsWithoutLocking() {
+        CountMinSketch sketch = new CountMinSketch(10_000);
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 1000; i++) {
+                sketch.increment("hotUser");
+            }
+        });
+
+        assertEquals(8000, sketch.estimate("hotUser"));
+    }
+
+    private RefreshAheadWarmer warmer(Duration refreshAhead, double budgetShare) {
+        // 3600 calls left for the next hour are 5 calls per 5 second round
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        RateLimitBudget budget = new RateLimitBudget(100, 100, Duration.ofSeconds(1), 0, clock);
+        budget.update(3600, 3600, clock.instant().plus(Duration.ofHours(1)));
+        TokenPool tokenPool = new TokenPool(List.of(new PooledToken("", budget)), Duration.ofMinutes(10), clock);
+        return new RefreshAheadWarmer(fetchStrategy, hotUsernames, metrics, tokenPool, true, Duration.ofSeconds(5),
+                refreshAhead, MINIMUM_FREQUENCY, budgetShare);
+    }
+
+    private void record(HotUsernames tracker, HotUsernames.Target target, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(target);
+        }
+    }
+}
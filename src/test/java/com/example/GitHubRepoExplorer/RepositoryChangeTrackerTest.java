@@ -0,0 +1,134 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.domain.RepositoryChange;
+import com.example.GitHubRepoExplorer.domain.RepositoryChanges;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.RepositoryChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class RepositoryChangeTrackerTest {
+    private static final String USERNAME = "testUser";
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private RepositoryChangeTracker changeTracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        changeTracker = new RepositoryChangeTracker(gitHubService, 100, 2, Duration.ofHours(1));
+    }
+
+    @Test
+    void testGetChanges_FirstCallReturnsEverything() {
+        List<Repository> repositories = List.of(repository("first", branch("main", "a1")));
+        when(gitHubService.getAllNonForkedRepositories(USERNAME)).thenReturn(Flux.fromIterable(repositories));
+
+        RepositoryChanges changes = changeTracker.getChangesByUsername(USERNAME, null);
+
+        assertTrue(changes.isComplete());
+        assertEquals(repositories, changes.getAdded());
+        assertTrue(changes.getChanged().isEmpty());
+        assertEquals(16, changes.getCursor().length());
+    }
+
+    @Test
+    void testGetChanges_UnchangedUserKeepsCursorAndReturnsNothing() {
+        when(gitHubService.getAllNonForkedRepositories(USERNAME))
+                .thenReturn(Flux.just(repository("first", branch("main", "a1"), branch("dev", "b1"))))
+                .thenReturn(Flux.just(repository("first", branch("dev", "b1"), branch("main", "a1"))));
+
+        String cursor = changeTracker.getChangesByUsername(USERNAME, null).getCursor();
+        RepositoryChanges changes = changeTracker.getChangesByUsername(USERNAME, cursor);
+
+        assertFalse(changes.isComplete());
+        assertEquals(cursor, changes.getCursor());
+        assertTrue(changes.getAdded().isEmpty());
+        assertTrue(changes.getChanged().isEmpty());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    void testGetChanges_ReportsAddedChangedAndRemoved() {
+        String sha = "0d1a26e67d8f5eaf1f6ba5c57fc3c7d91ac0fd1c";
+        when(gitHubService.getAllNonForkedRepositories(USERNAME))
+                .thenReturn(Flux.just(
+                        repository("kept", branch("main", sha)),
+                        repository("moved", branch("main", sha), branch("stale", sha), branch("dev", sha)),
+                        repository("deleted", branch("main", sha))))
+                .thenReturn(Flux.just(
+                        repository("kept", branch("main", sha)),
+                        repository("moved", branch("main", "6dcb09b5b57875f334f61aebed695e2e4193db5e"), branch("dev", sha), branch("feature", sha)),
+                        repository("created", branch("main", sha))));
+
+        String cursor = changeTracker.getChangesByUsername(USERNAME, null).getCursor();
+        RepositoryChanges changes = changeTracker.getChangesByUsername(USERNAME, cursor);
+
+        assertFalse(changes.isComplete());
+        assertNotEquals(cursor, changes.getCursor());
+        assertEquals(List.of(repository("created", branch("main", sha))), changes.getAdded());
+        assertEquals(List.of(new RepositoryChange("moved", new Owner(USERNAME),
+                        List.of(branch("main", "6dcb09b5b57875f334f61aebed695e2e4193db5e"), branch("feature", sha)), List.of("stale"))),
+                changes.getChanged());
+        assertEquals(List.of("deleted"), changes.getRemoved());
+    }
+
+    @Test
+    void testGetChanges_ReportsNoRemovalsBeyondPageCap() {
+        when(gitHubService.getAllNonForkedRepositories(USERNAME))
+                .thenReturn(Flux.just(repository("first", branch("main", "a1")), repository("second", branch("main", "b1"))))
+                .thenReturn(Flux.just(repository("first", branch("main", "a2")), repository("created", branch("main", "c1"))));
+        when(gitHubService.isListingTruncated(USERNAME)).thenReturn(false).thenReturn(true);
+
+        String cursor = changeTracker.getChangesByUsername(USERNAME, null).getCursor();
+        RepositoryChanges changes = changeTracker.getChangesByUsername(USERNAME, cursor);
+
+        assertTrue(changes.isTruncated());
+        assertTrue(changes.getRemoved().isEmpty());
+        assertEquals(List.of(repository("created", branch("main", "c1"))), changes.getAdded());
+        assertEquals(1, changes.getChanged().size());
+    }
+
+    @Test
+    void testGetChanges_ForgottenCursorReturnsEverything() {
+        when(gitHubService.getAllNonForkedRepositories(USERNAME))
+                .thenReturn(Flux.just(repository("first", branch("main", "a1"))))
+                .thenReturn(Flux.just(repository("first", branch("main", "a2"))))
+                .thenReturn(Flux.just(repository("first", branch("main", "a3"))))
+                .thenReturn(Flux.just(repository("first", branch("main", "a4"))));
+
+        String oldest = changeTracker.getChangesByUsername(USERNAME, null).getCursor();
+        changeTracker.getChangesByUsername(USERNAME, oldest);
+        changeTracker.getChangesByUsername(USERNAME, null);
+        RepositoryChanges changes = changeTracker.getChangesByUsername(USERNAME, oldest);
+
+        assertTrue(changes.isComplete());
+        assertEquals(1, changes.getAdded().size());
+    }
+
+    private Repository repository(String name, Branch... branches) {
+        return new Repository(name, new Owner(USERNAME), List.of(branches));
+    }
+
+    private Branch branch(String name, String sha) {
+        return new Branch(name, new Commit(sha));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.resilience.Bulkhead;
+import com.example.GitHubRepoExplorer.resilience.CircuitBreaker;
+import com.example.GitHubRepoExplorer.resilience.LatencyTracker;
+import com.example.GitHubRepoExplorer.resilience.ResilienceFilter;
+import com.example.GitHubRepoExplorer.utils.EndpointType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilienceFilterTest {
+    private static final URI REPOS_URL = URI.create("http://localhost/users/testUser/repos");
+    private static final URI BRANCHES_URL = URI.create("http://localhost/repos/testUser/testRepo/branches");
+    private static final URI GRAPHQL_URL = URI.create("http://localhost/graphql");
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testRetry_RetriesServerErrorsForGet() {
+        ResilienceFilter filter = filter(2, false);
+        ExchangeFunction upstream = request -> Mono.fromCallable(() -> calls.incrementAndGet() <= 2
+                ? response(HttpStatus.BAD_GATEWAY)
+                : response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(get(REPOS_URL), upstream).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testRetry_DoesNotRetryPost() {
+        ResilienceFilter filter = filter(2, false);
+        ExchangeFunction upstream = request -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return response(HttpStatus.BAD_GATEWAY);
+        });
+        ClientRequest post = ClientRequest.create(HttpMethod.POST, GRAPHQL_URL).build();
+
+        assertThrows(UpstreamUnavailableException.class, () -> filter.filter(post, upstream).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testCircuitBreaker_OpensPerEndpointTypeAndRejectsWithoutCallingUpstream() {
+        ResilienceFilter filter = filter(0, false);
+        ExchangeFunction failing = request -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return response(HttpStatus.SERVICE_UNAVAILABLE);
+        });
+        for (int i = 0; i < 4; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> filter.filter(get(REPOS_URL), failing).block());
+        }
+
+        UpstreamUnavailableException exception = assertThrows(UpstreamUnavailableException.class,
+                () -> filter.filter(get(REPOS_URL), failing).block());
+        ClientResponse branches = filter.filter(get(BRANCHES_URL), request -> Mono.just(response(HttpStatus.OK))).block();
+
+        assertEquals(4, calls.get());
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(29)) > 0);
+        assertEquals(HttpStatus.OK, branches.statusCode());
+    }
+
+    @Test
+    void testCircuitBreaker_ClosesAfterSuccessfulTrialCalls() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), 2, clock);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.acquirePermission();
+            circuitBreaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.advance(Duration.ofSeconds(30));
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+        assertThrows(UpstreamUnavailableException.class, circuitBreaker::acquirePermission);
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testBulkhead_RejectsCallsOverTheCap() {
+        ResilienceFilter filter = new ResilienceFilter(circuitBreakers(), new Bulkhead(1), 0, Duration.ofMillis(1),
+                Duration.ofMillis(1), new LatencyTracker(32, 0.95), false, Duration.ZERO, Duration.ofSeconds(5));
+        ExchangeFunction slow = request -> Mono.delay(Duration.ofMillis(200)).map(tick -> response(HttpStatus.OK));
+
+        Mono<ClientResponse> first = filter.filter(get(REPOS_URL), slow).cache();
+        first.subscribe();
+
+        assertThrows(UpstreamUnavailableException.class, () -> filter.filter(get(REPOS_URL), slow).block());
+        assertEquals(HttpStatus.OK, first.block().statusCode());
+        assertEquals(HttpStatus.OK, filter.filter(get(REPOS_URL), slow).block().statusCode());
+    }
+
+    @Test
+    void testHedge_SendsSecondBranchRequestWhenFirstIsSlow() {
+        ResilienceFilter filter = filter(0, true);
+        for (int i = 0; i < 32; i++) {
+            filter.filter(get(BRANCHES_URL), request -> Mono.just(response(HttpStatus.OK))).block();
+        }
+        ExchangeFunction firstSlow = request -> Mono.defer(() -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(5)).map(tick -> response(HttpStatus.OK))
+                : Mono.just(response(HttpStatus.OK)));
+
+        long start = System.nanoTime();
+        ClientResponse response = filter.filter(get(BRANCHES_URL), firstSlow).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(2, calls.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    private ResilienceFilter filter(int maxRetries, boolean hedgeEnabled) {
+        return new ResilienceFilter(circuitBreakers(), new Bulkhead(16), maxRetries, Duration.ofMillis(1),
+                Duration.ofMillis(5), new LatencyTracker(32, 0.95), hedgeEnabled, Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+
+    private Map<EndpointType, CircuitBreaker> circuitBreakers() {
+        Map<EndpointType, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointType.class);
+        for (EndpointType endpointType : EndpointType.values()) {
+            circuitBreakers.put(endpointType, new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), 1, clock));
+        }
+        return circuitBreakers;
+    }
+
+    private ClientRequest get(URI url) {
+        return ClientRequest.create(HttpMethod.GET, url).build();
+    }
+
+    private ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.SerializedResponseCache;
+import com.example.GitHubRepoExplorer.cache.SerializedResponseCache.SerializedResponse;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.domain.Owner;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SerializedResponseCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SerializedResponseCache cache = new SerializedResponseCache(true, DataSize.ofMegabytes(1),
+            Duration.ofMinutes(10), true, objectMapper);
+
+    @Test
+    void testSerialize_ReusesBytesWhileResponseIsUnchanged() throws Exception {
+        List<Repository> repositories = repositories("main");
+
+        SerializedResponse first = cache.serialize("testUser", repositories);
+        SerializedResponse second = cache.serialize("testUser", repositories("main"));
+
+        assertSame(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(repositories), first.body());
+    }
+
+    @Test
+    void testSerialize_ReplacesEntryWhenResponseChanged() {
+        SerializedResponse first = cache.serialize("testUser", repositories("main"));
+        SerializedResponse second = cache.serialize("testUser", repositories("develop"));
+
+        assertNotSame(first, second);
+        assertNotEquals(first.etag(), second.etag());
+        assertSame(second, cache.serialize("testUser", repositories("develop")));
+    }
+
+    @Test
+    void testToResponseEntity_SendsGzipOnlyWhenAccepted() throws IOException {
+        List<Repository> repositories = IntStream.range(0, 50)
+                .mapToObj(index -> new Repository("repo-" + index, new Owner("testUser"), List.of(new Branch("main", new Commit("abc")))))
+                .toList();
+        SerializedResponse response = cache.serialize("testUser", repositories);
+
+        ResponseEntity<byte[]> plain = response.toResponseEntity(null);
+        ResponseEntity<byte[]> compressed = response.toResponseEntity("gzip, deflate, br");
+
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(plain.getHeaders().getETag(), compressed.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), compressed.getHeaders().getVary());
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(plain.getBody(), input.readAllBytes());
+        }
+    }
+
+    @Test
+    void testToResponseEntity_HonorsQualityValues() {
+        List<Repository> repositories = IntStream.range(0, 50)
+                .mapToObj(index -> new Repository("repo-" + index, new Owner("testUser"), List.of(new Branch("main", new Commit("abc")))))
+                .toList();
+        SerializedResponse response = cache.serialize("testUser", repositories);
+
+        assertNull(response.toResponseEntity("gzip;q=0").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.toResponseEntity("gzip; q=0.0, br").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.toResponseEntity("identity, *;q=0").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.toResponseEntity("x-gzip-custom, deflate").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", response.toResponseEntity("GZIP;q=0.5").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", response.toResponseEntity("br, *").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", response.toResponseEntity("gzip;q=1, *;q=0").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testToResponseEntity_SkipsGzipForSmallBodies() {
+        SerializedResponse response = cache.serialize("testUser", repositories("main"));
+
+        assertNull(response.gzipped());
+        assertNull(response.toResponseEntity("gzip").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private List<Repository> repositories(String branch) {
+        return List.of(new Repository("testRepo", new Owner("testUser"), List.of(new Branch(branch, new Commit("abc123")))));
+    }
+}
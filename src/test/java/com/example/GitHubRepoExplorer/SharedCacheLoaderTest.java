@@ -0,0 +1,210 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.InMemorySharedCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.cache.SharedCache;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
+import com.example.GitHubRepoExplorer.domain.Repository;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.HotUsernames;
+import com.example.GitHubRepoExplorer.service.RepositoryQuery;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCacheLoaderTest {
+    private static final int REPOSITORIES = 5;
+    private static final int REPLICAS = 3;
+    private static final RequestKey KEY = new RequestKey("/users/testUser/repos", 30, 1);
+    private static final Duration REPOSITORIES_TTL = Duration.ofMinutes(1);
+    private static final Duration BRANCHES_TTL = Duration.ofSeconds(30);
+
+    private GitHubApiStub stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void testReplicas_ShareOneUpstreamCallPerKey() throws Exception {
+        stub = new GitHubApiStub(REPOSITORIES, Duration.ofMillis(50)).repositoryLatency(Duration.ofMillis(200));
+        SharedCache sharedCache = new InMemorySharedCache(DataSize.ofMegabytes(1));
+
+        List<List<Repository>> responses = Flux.range(0, REPLICAS)
+                .map(replica -> replica(sharedCache))
+                .flatMap(gitHubService -> gitHubService.getNonForkedRepositories("testUser", 30, 1, RepositoryQuery.defaults()).collectList())
+                .collectList()
+                .block();
+
+        assertEquals(REPLICAS, responses.size());
+        assertEquals(REPOSITORIES, responses.getFirst().size());
+        responses.forEach(response -> assertEquals(responses.getFirst(), response));
+        assertEquals(1, stub.repositoryRequests());
+        assertEquals(REPOSITORIES, stub.branchRequests());
+    }
+
+    @Test
+    void testLease_ExpiresWhenHolderNeverReleasesIt() throws Exception {
+        SharedCache sharedCache = new InMemorySharedCache(DataSize.ofMegabytes(1));
+
+        assertTrue(sharedCache.tryLease("key", "first", Duration.ofMillis(50)));
+        assertFalse(sharedCache.tryLease("key", "second", Duration.ofMillis(50)));
+        Thread.sleep(80);
+        assertTrue(sharedCache.tryLease("key", "second", Duration.ofSeconds(10)));
+
+        sharedCache.release("key", "first");
+        assertFalse(sharedCache.tryLease("key", "third", Duration.ofSeconds(10)));
+        sharedCache.release("key", "second");
+        assertTrue(sharedCache.tryLease("key", "third", Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void testLoader_CallsBlockingSharedCacheOffNonBlockingThreads() {
+        ThreadRecordingSharedCache sharedCache = new ThreadRecordingSharedCache(false);
+        SharedCacheLoader loader = loader(sharedCache);
+
+        for (int request = 0; request < 2; request++) {
+            // Parallel threads are non-blocking like the Netty event loop that completes upstream calls
+            List<String> value = loader.load(KEY, String.class, () -> Mono.just(List.of("value")))
+                    .subscribeOn(Schedulers.parallel())
+                    .block();
+            assertEquals(List.of("value"), value);
+        }
+
+        assertTrue(sharedCache.calls.containsAll(List.of("get", "tryLease", "put")), () -> "Calls " + sharedCache.calls);
+        assertTrue(sharedCache.nonBlockingCalls.isEmpty(), () -> "Shared cache called on " + sharedCache.nonBlockingCalls);
+    }
+
+    @Test
+    void testLoader_ReturnsValueThatCannotBeShared() {
+        ThreadRecordingSharedCache sharedCache = new ThreadRecordingSharedCache(true);
+
+        List<String> value = loader(sharedCache).load(KEY, String.class, () -> Mono.just(List.of("value"))).block();
+
+        assertEquals(List.of("value"), value);
+        assertTrue(sharedCache.calls.contains("put"));
+    }
+
+    @Test
+    void testLoader_SharesValuesForTheTtlOfTheirEndpoint() {
+        ThreadRecordingSharedCache sharedCache = new ThreadRecordingSharedCache(false);
+        SharedCacheLoader loader = loader(sharedCache);
+
+        loader.load(KEY, String.class, () -> Mono.just(List.of("repository"))).block();
+        loader.load(new RequestKey("/repos/testUser/repo/branches", 100, 1), String.class, () -> Mono.just(List.of("branch"))).block();
+        loader.load(new RequestKey("/graphql?login=testUser", 30, 1), String.class, () -> Mono.just(List.of("graphql"))).block();
+
+        assertEquals(List.of(REPOSITORIES_TTL, BRANCHES_TTL, BRANCHES_TTL), sharedCache.ttls);
+    }
+
+    @Test
+    void testLoader_LoadsLocallyAfterWaitingOneLeaseForAnotherReplica() {
+        SharedCache sharedCache = new InMemorySharedCache(DataSize.ofMegabytes(1));
+        SharedCacheLoader loader = new SharedCacheLoader(true, REPOSITORIES_TTL, BRANCHES_TTL, Duration.ofMillis(200),
+                Duration.ofMillis(20), sharedCache, new ObjectMapper());
+        // Another replica took the lease and never publishes a value
+        assertTrue(sharedCache.tryLease("github:/users/testuser/repos|30|1", "stuck", Duration.ofMinutes(1)));
+
+        long start = System.nanoTime();
+        List<String> value = loader.load(KEY, String.class, () -> Mono.just(List.of("value")))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("value"), value);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(200)) >= 0);
+    }
+
+    @Test
+    void testRefreshAhead_ReplacesSharedValue() {
+        SharedCacheLoader loader = loader(new InMemorySharedCache(DataSize.ofMegabytes(1)));
+        loader.load(KEY, String.class, () -> Mono.just(List.of("stale"))).block();
+
+        List<String> refreshed = loader.load(KEY, String.class, () -> Mono.just(List.of("fresh")))
+                .contextWrite(Context.of(GitHubResponseCache.REFRESH_AHEAD_CONTEXT_KEY, Duration.ofMinutes(1)))
+                .block();
+
+        assertEquals(List.of("fresh"), refreshed);
+        assertEquals(List.of("fresh"), loader.load(KEY, String.class, () -> Mono.just(List.of("unused"))).block());
+    }
+
+    private SharedCacheLoader loader(SharedCache sharedCache) {
+        return new SharedCacheLoader(true, REPOSITORIES_TTL, BRANCHES_TTL, Duration.ofSeconds(10), Duration.ofMillis(20), sharedCache, new ObjectMapper());
+    }
+
+    private GitHubService replica(SharedCache sharedCache) {
+        GitHubMetrics metrics = new GitHubMetrics(new SimpleMeterRegistry());
+        GitHubApiClient gitHubApiClient = TestServices.client(WebClient.builder().baseUrl(stub.baseUrl()).build(),
+                TestServices.cache(Duration.ofMinutes(1), metrics),
+                loader(sharedCache),
+                TestServices.MAX_PAGES);
+        return TestServices.service(new RestRepositoryFetchStrategy(gitHubApiClient, REPOSITORIES), metrics, new HotUsernames(true, 100));
+    }
+
+    private static class ThreadRecordingSharedCache extends InMemorySharedCache {
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private final List<String> nonBlockingCalls = new CopyOnWriteArrayList<>();
+        private final List<Duration> ttls = new CopyOnWriteArrayList<>();
+        private final boolean failPut;
+
+        ThreadRecordingSharedCache(boolean failPut) {
+            super(DataSize.ofMegabytes(1));
+            this.failPut = failPut;
+        }
+
+        @Override
+        public Optional<byte[]> get(String key) {
+            record("get");
+            return super.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] value, Duration ttl) {
+            record("put");
+            ttls.add(ttl);
+            if (failPut) {
+                throw new IllegalStateException("Shared cache unavailable");
+            }
+            super.put(key, value, ttl);
+        }
+
+        @Override
+        public boolean tryLease(String key, String owner, Duration leaseTime) {
+            record("tryLease");
+            return super.tryLease(key, owner, leaseTime);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+
+        private void record(String call) {
+            calls.add(call);
+            if (Schedulers.isInNonBlockingThread()) {
+                nonBlockingCalls.add(call + " on " + Thread.currentThread().getName());
+            }
+        }
+    }
+}
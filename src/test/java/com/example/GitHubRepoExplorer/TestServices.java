@@ -0,0 +1,64 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
+import com.example.GitHubRepoExplorer.metrics.GitHubMetrics;
+import com.example.GitHubRepoExplorer.service.GitHubService;
+import com.example.GitHubRepoExplorer.service.HotUsernames;
+import com.example.GitHubRepoExplorer.service.RepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.service.RestRepositoryFetchStrategy;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Wiring shared by tests that build the client and service by hand, so a new constructor argument is added here
+ * once. Caches are disabled unless passed in, and {@link #MAX_PAGES} and {@link #PAGE_CONCURRENCY} match
+ * {@code application.properties}.
+ */
+final class TestServices {
+    static final int MAX_PAGES = 10;
+    static final int PAGE_CONCURRENCY = 4;
+    static final int BATCH_CONCURRENCY = 4;
+
+    private TestServices() {
+    }
+
+    static GitHubMetrics metrics() {
+        return new GitHubMetrics(new SimpleMeterRegistry());
+    }
+
+    static GitHubResponseCache disabledCache() {
+        return new GitHubResponseCache(false, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, metrics());
+    }
+
+    static GitHubResponseCache cache(Duration ttl, GitHubMetrics metrics) {
+        return new GitHubResponseCache(true, 1000, ttl, ttl, Duration.ZERO, metrics);
+    }
+
+    static SharedCacheLoader localOnly() {
+        return new SharedCacheLoader(false, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, null, null);
+    }
+
+    static GitHubApiClient client(WebClient webClient) {
+        return client(webClient, disabledCache());
+    }
+
+    static GitHubApiClient client(WebClient webClient, GitHubResponseCache cache) {
+        return client(webClient, cache, localOnly(), MAX_PAGES);
+    }
+
+    static GitHubApiClient client(WebClient webClient, GitHubResponseCache cache, SharedCacheLoader sharedCacheLoader, int maxPages) {
+        return new GitHubApiClient(webClient, cache, sharedCacheLoader, maxPages, PAGE_CONCURRENCY);
+    }
+
+    static GitHubService service(GitHubApiClient gitHubApiClient, int branchesConcurrency) {
+        return service(new RestRepositoryFetchStrategy(gitHubApiClient, branchesConcurrency), metrics(), new HotUsernames(true, 100));
+    }
+
+    static GitHubService service(RepositoryFetchStrategy fetchStrategy, GitHubMetrics metrics, HotUsernames hotUsernames) {
+        return new GitHubService(fetchStrategy, BATCH_CONCURRENCY, metrics, hotUsernames);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.GitHubRepoExplorer;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the servlet stack on virtual threads and records {@code jdk.VirtualThreadPinned} events while concurrent
+ * requests block on GitHub. Any event raised in application code means a request held a monitor while waiting
+ * and kept its carrier thread.
+ */
+class VirtualThreadPinningTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.GitHubRepoExplorer";
+    private static final int REQUESTS = 200;
+
+    @Test
+    void testVirtualThreads_HandleRequestsWithoutPinning() throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (GitHubApiStub stub = new GitHubApiStub(10, Duration.ofMillis(20)).repositoryLatency(Duration.ofMillis(20));
+             ConfigurableApplicationContext application = start(stub);
+             RecordingStream recording = new RecordingStream()) {
+            Connector connector = ((TomcatWebServer) ((WebServerApplicationContext) application).getWebServer()).getTomcat().getConnector();
+            assertInstanceOf(VirtualThreadExecutor.class, connector.getProtocolHandler().getExecutor());
+
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> {
+                if (inApplicationCode(event)) {
+                    pinned.add(event);
+                }
+            });
+            recording.startAsync();
+            assertEquals(REQUESTS, drive(connector.getLocalPort()));
+            recording.stop();
+        }
+        assertTrue(pinned.isEmpty(), () -> "Virtual threads pinned in application code: " + pinned);
+    }
+
+    private ConfigurableApplicationContext start(GitHubApiStub stub) {
+        return new SpringApplicationBuilder(GitHubRepoExplorerApplication.class).run(
+                "--server.port=0",
+                "--spring.main.web-application-type=servlet",
+                "--spring.threads.virtual.enabled=true",
+                "--github.api.url=" + stub.baseUrl(),
+                "--github.warming.enabled=false",
+                "--github.rate-limit.requests-per-second=1000000",
+                "--github.rate-limit.burst=1000000");
+    }
+
+    private int drive(int port) throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> responses = IntStream.range(0, REQUESTS)
+                    .mapToObj(request -> clients.submit(() -> httpClient.send(
+                            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/repos/user-" + request % 20))
+                                    .header("Accept", "application/json")
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode()))
+                    .toList();
+            int succeeded = 0;
+            for (Future<Integer> response : responses) {
+                succeeded += response.get() == 200 ? 1 : 0;
+            }
+            return succeeded;
+        }
+    }
+
+    private boolean inApplicationCode(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(method -> method.getType().getName().startsWith(APPLICATION_PACKAGE));
+    }
+}
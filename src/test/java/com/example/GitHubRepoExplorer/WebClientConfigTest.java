@@ -0,0 +1,72 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.exception.UpstreamUnavailableException;
+import com.example.GitHubRepoExplorer.utils.GitHubApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "github.cache.enabled=false",
+        "github.http.response-timeout=300ms"
+})
+class WebClientConfigTest {
+    private static GitHubApiStub stub;
+
+    @Autowired
+    private GitHubApiClient gitHubApiClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = new GitHubApiStub(2, Duration.ofSeconds(2));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @DynamicPropertySource
+    static void gitHubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.url", () -> stub.baseUrl());
+    }
+
+    @Test
+    void shouldFetchThroughPooledClient() {
+        List<RepositoryDTO> repositories = gitHubApiClient.makeApiRequest("/users/testUser/repos", RepositoryDTO.class, 30, 1);
+
+        assertEquals(2, repositories.size());
+        assertFalse(meterRegistry.find("reactor.netty.connection.provider.total.connections")
+                .tag("name", "github")
+                .gauges()
+                .isEmpty());
+    }
+
+    @Test
+    void shouldFailSlowResponsesWithResponseTimeout() {
+        String branchesUrl = stub.baseUrl() + "/repos/testUser/repo-0/branches";
+
+        UpstreamUnavailableException exception = assertThrows(UpstreamUnavailableException.class,
+                () -> gitHubApiClient.makeApiRequest(branchesUrl, Branch.class));
+        assertInstanceOf(WebClientRequestException.class, exception.getCause());
+    }
+}
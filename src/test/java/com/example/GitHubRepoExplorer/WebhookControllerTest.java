@@ -0,0 +1,258 @@
+package com.example.GitHubRepoExplorer;
+
+import com.example.GitHubRepoExplorer.cache.GitHubResponseCache;
+import com.example.GitHubRepoExplorer.cache.InMemorySharedCache;
+import com.example.GitHubRepoExplorer.cache.RequestKey;
+import com.example.GitHubRepoExplorer.cache.SharedCache;
+import com.example.GitHubRepoExplorer.cache.SharedCacheLoader;
+import com.example.GitHubRepoExplorer.controller.WebhookController;
+import com.example.GitHubRepoExplorer.domain.Branch;
+import com.example.GitHubRepoExplorer.domain.Commit;
+import com.example.GitHubRepoExplorer.dto.RepositoryDTO;
+import com.example.GitHubRepoExplorer.webhook.WebhookEventHandler;
+import com.example.GitHubRepoExplorer.webhook.WebhookSignatureVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replays recorded webhook deliveries against a populated cache, without any calls to GitHub.
+ */
+@WebMvcTest(controllers = WebhookController.class, properties = "github.webhook.secret=" + WebhookControllerTest.SECRET)
+@Import({WebhookSignatureVerifier.class, WebhookEventHandler.class, WebhookControllerTest.CacheConfig.class})
+class WebhookControllerTest {
+    static final String SECRET = "test-secret";
+    private static final String BRANCHES_URL = "https://api.github.com/repos/octocat/Hello-World/branches";
+    private static final RequestKey BRANCHES = new RequestKey(BRANCHES_URL);
+    private static final RequestKey MAIN_BRANCH = new RequestKey(BRANCHES_URL + "/main");
+    private static final RequestKey OTHER_BRANCHES = new RequestKey("https://api.github.com/repos/octocat/Spoon-Knife/branches");
+    private static final RequestKey REPOSITORIES = new RequestKey("/users/octocat/repos", 30, 1);
+    private static final RequestKey ALL_REPOSITORIES = RequestKey.allPages("/users/octocat/repos");
+    private static final RequestKey FORKER_REPOSITORIES = new RequestKey("/users/hubot/repos", 30, 1);
+    private static final RequestKey GRAPHQL = RequestKey.allPages("/graphql?login=octocat");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GitHubResponseCache responseCache;
+
+    @Autowired
+    private SharedCache sharedCache;
+
+    @Autowired
+    private SharedCacheLoader sharedCacheLoader;
+
+    @BeforeEach
+    void setUp() {
+        responseCache.invalidateAll();
+        sharedCache.invalidate("");
+        populate(BRANCHES, List.of(branch("develop", "1111"), branch("main", "2222")));
+        populate(MAIN_BRANCH, List.of(branch("main", "2222")));
+        populate(OTHER_BRANCHES, List.of(branch("main", "3333")));
+        populate(REPOSITORIES, List.of(new RepositoryDTO()));
+        populate(ALL_REPOSITORIES, List.of(new RepositoryDTO()));
+        populate(FORKER_REPOSITORIES, List.of(new RepositoryDTO()));
+        populate(GRAPHQL, List.of(new Object()));
+    }
+
+    @Test
+    void shouldMoveBranchHeadOnPush() throws Exception {
+        deliver("push", "push.json").andExpect(status().isNoContent());
+
+        assertEquals(List.of(branch("develop", "1111"), branch("main", "0d1a26e67d8f5eaf1f6ba5c57fc3c7d91ac0fd1c")), cached(BRANCHES));
+        assertEquals(List.of(branch("main", "0d1a26e67d8f5eaf1f6ba5c57fc3c7d91ac0fd1c")), cached(MAIN_BRANCH));
+        assertEquals(List.of(branch("main", "3333")), cached(OTHER_BRANCHES));
+        assertEquals(1, cached(REPOSITORIES).size());
+        assertTrue(cached(GRAPHQL).isEmpty());
+    }
+
+    @Test
+    void shouldDropBranchListWhenPushCreatesBranch() throws Exception {
+        deliver("push", "push-new-branch.json").andExpect(status().isNoContent());
+
+        assertTrue(cached(BRANCHES).isEmpty());
+        assertEquals(List.of(branch("main", "2222")), cached(MAIN_BRANCH));
+    }
+
+    @Test
+    void shouldRemoveDeletedBranch() throws Exception {
+        deliver("delete", "delete.json").andExpect(status().isNoContent());
+
+        assertEquals(List.of(branch("main", "2222")), cached(BRANCHES));
+        assertEquals(1, cached(REPOSITORIES).size());
+    }
+
+    @Test
+    void shouldIgnoreTags() throws Exception {
+        deliver("create", "create-tag.json").andExpect(status().isNoContent());
+
+        assertEquals(2, cached(BRANCHES).size());
+        assertEquals(1, cached(GRAPHQL).size());
+    }
+
+    @Test
+    void shouldDropRepositoryListsAndOldBranchesOnRename() throws Exception {
+        deliver("repository", "repository-renamed.json").andExpect(status().isNoContent());
+
+        assertTrue(cached(REPOSITORIES).isEmpty());
+        assertTrue(cached(ALL_REPOSITORIES).isEmpty());
+        assertTrue(cached(GRAPHQL).isEmpty());
+        assertTrue(cached(BRANCHES).isEmpty());
+        assertTrue(cached(MAIN_BRANCH).isEmpty());
+        assertEquals(1, cached(OTHER_BRANCHES).size());
+    }
+
+    @Test
+    void shouldDropForkOwnerRepositoryLists() throws Exception {
+        deliver("fork", "fork.json").andExpect(status().isNoContent());
+
+        assertTrue(cached(FORKER_REPOSITORIES).isEmpty());
+        assertEquals(1, cached(REPOSITORIES).size());
+    }
+
+    @Test
+    void shouldDropSharedBranchesOnPush() throws Exception {
+        share(BRANCHES, List.of(branch("develop", "1111"), branch("main", "2222")));
+        share(MAIN_BRANCH, List.of(branch("main", "2222")));
+        share(OTHER_BRANCHES, List.of(branch("main", "3333")));
+
+        deliver("push", "push.json").andExpect(status().isNoContent());
+
+        assertTrue(shared(BRANCHES).isEmpty());
+        assertTrue(shared(MAIN_BRANCH).isEmpty());
+        assertEquals(List.of(branch("main", "3333")), shared(OTHER_BRANCHES));
+    }
+
+    @Test
+    void shouldDropSharedRepositoryListsAndBranchesOnRename() throws Exception {
+        share(REPOSITORIES, List.of(branch("main", "2222")));
+        share(MAIN_BRANCH, List.of(branch("main", "2222")));
+        share(OTHER_BRANCHES, List.of(branch("main", "3333")));
+
+        deliver("repository", "repository-renamed.json").andExpect(status().isNoContent());
+
+        assertTrue(shared(REPOSITORIES).isEmpty());
+        assertTrue(shared(MAIN_BRANCH).isEmpty());
+        assertEquals(List.of(branch("main", "3333")), shared(OTHER_BRANCHES));
+    }
+
+    @Test
+    void shouldAcceptPing() throws Exception {
+        deliver("ping", "ping.json").andExpect(status().isNoContent());
+
+        assertEquals(7, responseCache.estimatedSize());
+    }
+
+    @Test
+    void shouldRejectInvalidSignature() throws Exception {
+        byte[] body = payload("push.json");
+
+        mockMvc.perform(post("/api/webhooks/github")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-GitHub-Event", "push")
+                        .header("X-Hub-Signature-256", "sha256=" + HexFormat.of().formatHex(sign(body, "wrong-secret")))
+                        .content(body))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401))
+                .andExpect(jsonPath("$.message").value("Invalid webhook signature"));
+        mockMvc.perform(post("/api/webhooks/github")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-GitHub-Event", "push")
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(List.of(branch("main", "2222")), cached(MAIN_BRANCH));
+    }
+
+    private ResultActions deliver(String event, String payload) throws Exception {
+        byte[] body = payload(payload);
+        return mockMvc.perform(post("/api/webhooks/github")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-GitHub-Event", event)
+                .header("X-GitHub-Delivery", "72d3162e-cc78-11e3-81ab-4c9367dc0958")
+                .header("X-Hub-Signature-256", "sha256=" + HexFormat.of().formatHex(sign(body, SECRET)))
+                .content(body));
+    }
+
+    private void populate(RequestKey key, List<?> value) {
+        responseCache.get(key, () -> Mono.just(value)).block();
+    }
+
+    /**
+     * Returns the cached value of {@code key}, or an empty list when it is no longer cached.
+     */
+    private List<?> cached(RequestKey key) {
+        return responseCache.get(key, () -> Mono.just(List.of())).block();
+    }
+
+    private void share(RequestKey key, List<Branch> value) {
+        sharedCacheLoader.load(key, Branch.class, () -> Mono.just(value)).block();
+    }
+
+    /**
+     * Returns the shared value of {@code key}, or an empty list when it is no longer shared.
+     */
+    private List<Branch> shared(RequestKey key) {
+        return sharedCacheLoader.load(key, Branch.class, () -> Mono.just(List.of())).block();
+    }
+
+    private Branch branch(String name, String sha) {
+        return new Branch(name, new Commit(sha));
+    }
+
+    private byte[] payload(String name) throws IOException {
+        try (InputStream input = getClass().getResourceAsStream("/webhooks/" + name)) {
+            return input.readAllBytes();
+        }
+    }
+
+    private byte[] sign(byte[] body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac.doFinal(body);
+    }
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        GitHubResponseCache gitHubResponseCache() {
+            return TestServices.cache(Duration.ofMinutes(10), TestServices.metrics());
+        }
+
+        @Bean
+        SharedCache sharedCache() {
+            return new InMemorySharedCache(DataSize.ofMegabytes(1));
+        }
+
+        @Bean
+        SharedCacheLoader sharedCacheLoader(SharedCache sharedCache, ObjectMapper objectMapper) {
+            return new SharedCacheLoader(true, Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofSeconds(10), Duration.ofMillis(20), sharedCache, objectMapper);
+        }
+    }
+}